@@ -19,6 +19,7 @@ import com.trollworks.gcs.menu.file.OpenDataFileCommand;
 import com.trollworks.gcs.menu.file.PrintCommand;
 import com.trollworks.gcs.menu.file.QuitCommand;
 import com.trollworks.gcs.menu.help.AboutCommand;
+import com.trollworks.gcs.pdfview.PDFIndexer;
 import com.trollworks.gcs.ui.UIUtilities;
 import com.trollworks.gcs.ui.widget.WindowUtils;
 import com.trollworks.gcs.ui.widget.Workspace;
@@ -265,14 +266,13 @@ public final class GCS {
         }
 
         UpdateChecker.check();
+        PDFIndexer.update();
         launchProxy.setReady(true);
 
         EventQueue.invokeLater(() -> {
             Workspace.get();
             OpenDataFileCommand.enablePassThrough();
-            for (Path file : files) {
-                OpenDataFileCommand.open(file);
-            }
+            OpenDataFileCommand.open(files);
             if (Platform.isMacintosh() && System.getProperty("java.home").toLowerCase().contains("/apptranslocation/")) {
                 WindowUtils.showError(null, Text.wrapToCharacterCount(I18n.Text("macOS has translocated GCS, restricting access to the file system and preventing access to the data library. To fix this, you must quit GCS, then run the following command in the terminal after cd'ing into the GURPS Character Sheet folder:\n\n"), 60) + "xattr -d com.apple.quarantine \"/Applications/GCS.app\"");
             }
@@ -140,6 +140,9 @@ public class Advantage extends ListRow implements HasSourceReference, Switchable
     private              boolean                    mRoundCostDown;
     private              boolean                    mDisabled;
     private              String                     mUserDesc;
+    private              int                        mCachedAdjustedPoints;
+    private              boolean                    mAdjustedPointsCached;
+    private              boolean                    mCachedWithMultiplicativeModifiers;
 
     /**
      * Creates a new advantage.
@@ -192,10 +195,14 @@ public class Advantage extends ListRow implements HasSourceReference, Switchable
                 mWeapons.add(new RangedWeaponStats(this, (RangedWeaponStats) weapon));
             }
         }
+        mWeapons = compact(mWeapons);
         mModifiers = new ArrayList<>(advantage.mModifiers.size());
         for (AdvantageModifier modifier : advantage.mModifiers) {
-            mModifiers.add(new AdvantageModifier(mDataFile, modifier, false));
+            AdvantageModifier copy = new AdvantageModifier(mDataFile, modifier, false);
+            copy.setAdvantage(this);
+            mModifiers.add(copy);
         }
+        mModifiers = compact(mModifiers);
         if (deep) {
             int count = advantage.getChildCount();
 
@@ -304,6 +311,7 @@ public class Advantage extends ListRow implements HasSourceReference, Switchable
             mPointsPerLevel = m.getInt(TAG_POINTS_PER_LEVEL);
             if (m.has(KEY_WEAPONS)) {
                 WeaponStats.loadFromJSONArray(this, m.getArray(KEY_WEAPONS), mWeapons);
+                mWeapons = compact(mWeapons);
             }
         }
         if (m.has(TAG_CR)) {
@@ -316,8 +324,11 @@ public class Advantage extends ListRow implements HasSourceReference, Switchable
             JsonArray a     = m.getArray(KEY_MODIFIERS);
             int       count = a.size();
             for (int i = 0; i < count; i++) {
-                mModifiers.add(new AdvantageModifier(getDataFile(), a.getMap(i), state));
+                AdvantageModifier modifier = new AdvantageModifier(getDataFile(), a.getMap(i), state);
+                modifier.setAdvantage(this);
+                mModifiers.add(modifier);
             }
+            mModifiers = compact(mModifiers);
         }
         if (getDataFile() instanceof GURPSCharacter) {
             mUserDesc = m.getString(TAG_USER_DESC);
@@ -548,6 +559,61 @@ public class Advantage extends ListRow implements HasSourceReference, Switchable
 
     /** @return The total points, taking levels into account. */
     public int getAdjustedPoints() {
+        DataFile dataFile       = getDataFile();
+        boolean  multiplicative = dataFile != null && dataFile.useMultiplicativeModifiers();
+        if (!mAdjustedPointsCached || mCachedWithMultiplicativeModifiers != multiplicative) {
+            mCachedAdjustedPoints = calculateAdjustedPoints();
+            mCachedWithMultiplicativeModifiers = multiplicative;
+            mAdjustedPointsCached = true;
+        }
+        return mCachedAdjustedPoints;
+    }
+
+    /**
+     * Discards the cached adjusted points of this advantage, along with those of the containers it
+     * rolls up into and of the advantages beneath it, which inherit its modifiers and enabled state.
+     */
+    public void invalidateAdjustedPoints() {
+        invalidateAdjustedPointsOfSubtree();
+        Row parent = getParent();
+        while (parent instanceof Advantage) {
+            ((Advantage) parent).mAdjustedPointsCached = false;
+            parent = parent.getParent();
+        }
+    }
+
+    private void invalidateAdjustedPointsOfSubtree() {
+        mAdjustedPointsCached = false;
+        if (canHaveChildren()) {
+            for (Advantage child : new FilteredIterator<>(getChildren(), Advantage.class)) {
+                child.invalidateAdjustedPointsOfSubtree();
+            }
+        }
+    }
+
+    @Override
+    protected void invalidateCachedValues() {
+        super.invalidateCachedValues();
+        invalidateAdjustedPoints();
+    }
+
+    @Override
+    protected void childrenChanged() {
+        invalidateAdjustedPoints();
+    }
+
+    @Override
+    public boolean removeChild(Row row) {
+        if (super.removeChild(row)) {
+            if (row instanceof Advantage) {
+                ((Advantage) row).invalidateAdjustedPointsOfSubtree();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private int calculateAdjustedPoints() {
         if (isDisabled()) {
             return 0;
         }
@@ -820,11 +886,9 @@ public class Advantage extends ListRow implements HasSourceReference, Switchable
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getName().toLowerCase().contains(text)) {
-            return true;
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void collectSearchableText(List<String> fields) {
+        fields.add(getName());
+        super.collectSearchableText(fields);
     }
 
     /** @return The type as a text string. */
@@ -962,11 +1026,42 @@ public class Advantage extends ListRow implements HasSourceReference, Switchable
         List<AdvantageModifier> in = new FilteredList<>(modifiers, AdvantageModifier.class);
         if (!mModifiers.equals(in)) {
             mModifiers = in;
+            for (AdvantageModifier modifier : in) {
+                modifier.setAdvantage(this);
+            }
             notifySingle(ID_MODIFIER_STATUS_CHANGED);
             update();
         }
     }
 
+    @Override
+    public void updateFromLibrary(ListRow source, String hash) {
+        super.updateFromLibrary(source, hash);
+        Advantage advantage = (Advantage) source;
+        setName(advantage.mName);
+        setReference(advantage.mReference);
+        setWeapons(copyWeapons(advantage.mWeapons));
+        List<AdvantageModifier> modifiers = new ArrayList<>(advantage.mModifiers.size());
+        for (AdvantageModifier modifier : advantage.mModifiers) {
+            AdvantageModifier copy = new AdvantageModifier(mDataFile, modifier, false);
+            AdvantageModifier old  = getModifierFor(modifier.getName());
+            if (old != null) {
+                copy.setEnabled(old.isEnabled());
+            }
+            modifiers.add(copy);
+        }
+        setModifiers(modifiers);
+    }
+
+    private AdvantageModifier getModifierFor(String name) {
+        for (AdvantageModifier m : mModifiers) {
+            if (m.getName().equals(name)) {
+                return m;
+            }
+        }
+        return null;
+    }
+
     /**
      * @param name The name to match against. Case-insensitive.
      * @return The first modifier that matches the name.
@@ -83,16 +83,20 @@ import java.awt.dnd.DropTarget;
 import java.awt.event.ActionEvent;
 import java.awt.print.PageFormat;
 import java.awt.print.Paper;
+import java.io.BufferedOutputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 import javax.imageio.ImageIO;
 import javax.swing.RepaintManager;
@@ -103,6 +107,7 @@ import javax.swing.event.ChangeListener;
 /** The character sheet. */
 public class CharacterSheet extends CollectedOutlines implements ChangeListener, PageOwner, PrintProxy, Runnable {
     private static final int              GAP                 = 2;
+    private static final int              PDF_BUFFER_SIZE     = 256 * 1024;
     public static final  String           REACTIONS_KEY       = "reactions";
     public static final  String           MELEE_KEY           = "melee";
     public static final  String           RANGED_KEY          = "ranged";
@@ -126,6 +131,12 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
     private              boolean          mIsPrinting;
     private              boolean          mSyncWeapons;
     private              boolean          mReloadSpellColumns;
+    private              boolean          mNeedFullRebuild    = true;
+    private              List<Container>  mFixedBlocks;
+    private              List<String[]>   mLayoutBlocks;
+    private              List<Integer>    mLayoutPlacements;
+    private              int              mContentWidth;
+    private              int              mContentHeight;
 
     /**
      * Creates a new character sheet display. {@link #rebuild()} must be called prior to the first
@@ -155,6 +166,7 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
 
     @Override
     protected void scaleChanged() {
+        mNeedFullRebuild = true;
         markForRebuild();
     }
 
@@ -204,13 +216,15 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
 
         // Create the first page, which holds stuff that has a fixed vertical size.
         pageAssembler = new PageAssembler(this);
-        Wrapper wrapper = new Wrapper(new PrecisionLayout().setColumns(4).setMargins(0).setSpacing(GAP, GAP).setFillAlignment());
+        List<Container> fixedBlocks = new ArrayList<>();
+        Wrapper         wrapper     = new Wrapper(new PrecisionLayout().setColumns(4).setMargins(0).setSpacing(GAP, GAP).setFillAlignment());
         wrapper.add(new PortraitPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setVerticalSpan(2));
         wrapper.add(new IdentityPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setGrabHorizontalSpace(true));
         wrapper.add(new MiscPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment());
         wrapper.add(new PointsPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setVerticalSpan(2));
         wrapper.add(new DescriptionPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment().setHorizontalSpan(2));
         pageAssembler.addToContent(wrapper, null, null);
+        fixedBlocks.add(wrapper);
 
         wrapper = new Wrapper(new PrecisionLayout().setColumns(4).setMargins(0).setSpacing(GAP, GAP).setFillAlignment());
         wrapper.add(new AttributesPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment());
@@ -224,33 +238,142 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         wrapper2.add(new LiftPanel(this), new PrecisionLayoutData().setGrabVerticalSpace(true).setFillAlignment());
         wrapper.add(wrapper2, new PrecisionLayoutData().setFillAlignment());
         pageAssembler.addToContent(wrapper, null, null);
+        fixedBlocks.add(wrapper);
 
         // Add the various outline blocks, based on the layout preference.
-        boolean     addedAtLeastOneOutline = false;
-        Set<String> remaining              = prepBlockLayoutRemaining();
+        List<String[]> blocks = collectOutlineBlocks();
+        for (String[] keys : blocks) {
+            if (keys.length > 1) {
+                addOutline(pageAssembler, getOutlineForKey(keys[0]), getOutlineTitleForKey(keys[0]), getOutlineForKey(keys[1]), getOutlineTitleForKey(keys[1]));
+            } else {
+                addOutline(pageAssembler, getOutlineForKey(keys[0]), getOutlineTitleForKey(keys[0]));
+            }
+        }
+        if (blocks.isEmpty()) {
+            pageAssembler.addToContent(new Wrapper(), null, null);
+        }
+        pageAssembler.finish();
+
+        // Remember the layout so later edits can keep these pages if they don't alter it
+        mFixedBlocks = fixedBlocks;
+        mLayoutBlocks = blocks;
+        mLayoutPlacements = new ArrayList<>(pageAssembler.getLayout().getPlacements());
+        mContentWidth = pageAssembler.getContentWidth();
+        mContentHeight = pageAssembler.getLayout().getContentHeight();
+        mNeedFullRebuild = false;
+
+        // Ensure everything is laid out and register for notification
+        validate();
+        removeFromOutlineSyncer();
+        mCharacter.addTarget(this, GURPSCharacter.CHARACTER_PREFIX);
+        mCharacter.calculateWeightAndWealthCarried(true);
+        mCharacter.calculateWealthNotCarried(true);
+        if (focusKey != null) {
+            restoreFocusToKey(focusKey, this);
+        } else if (focus instanceof Outline) {
+            ((Outline) focus).getBestOutlineForRowIndex(firstRow).requestFocus();
+        } else if (focus != null) {
+            focus.requestFocus();
+        }
+        setSize(getPreferredSize());
+        repaint();
+    }
+
+    /**
+     * Re-flows the sheet's content against the layout produced by the last {@link #rebuild()}. If
+     * every page break and section comes out the same, the existing pages, panels and outlines are
+     * kept and merely laid out again, rather than being torn down and recreated.
+     *
+     * @return {@code true} if the existing pages were retained.
+     */
+    private boolean reflowExistingPages() {
+        if (mNeedFullRebuild || mLayoutPlacements == null || mReloadSpellColumns) {
+            return false;
+        }
+        List<String[]> blocks = collectOutlineBlocks();
+        if (blocks.isEmpty() || blocks.size() != mLayoutBlocks.size()) {
+            return false;
+        }
+        for (int i = 0; i < blocks.size(); i++) {
+            if (!Arrays.equals(blocks.get(i), mLayoutBlocks.get(i))) {
+                return false;
+            }
+        }
+        Scale scale = getScale();
+        Scale.setOverride(scale);
+        try {
+            PageLayout layout = new PageLayout(mContentHeight, scale.scale(GAP));
+            for (Container block : mFixedBlocks) {
+                int height = block.getPreferredSize().height;
+                layout.beginBlock(height);
+                layout.endBlock(height);
+            }
+            for (String[] keys : blocks) {
+                OutlineInfo left;
+                OutlineInfo right;
+                int         height;
+                if (keys.length > 1) {
+                    int width = mContentWidth / 2 - 1;
+                    left = new OutlineInfo(getOutlineForKey(keys[0]), width);
+                    right = new OutlineInfo(getOutlineForKey(keys[1]), width);
+                    height = Math.max(left.getMinimumHeight(), right.getMinimumHeight());
+                } else {
+                    left = new OutlineInfo(getOutlineForKey(keys[0]), mContentWidth);
+                    right = null;
+                    height = left.getMinimumHeight();
+                }
+                do {
+                    layout.beginBlock(height);
+                } while (layout.endOutlineBlock(left, right));
+            }
+            if (!layout.getPlacements().equals(mLayoutPlacements)) {
+                return false;
+            }
+        } finally {
+            Scale.setOverride(null);
+        }
+        for (Component page : getComponents()) {
+            if (page instanceof Container) {
+                ((Container) page).invalidate();
+            }
+        }
+        validate();
+        removeFromOutlineSyncer();
+        mCharacter.calculateWeightAndWealthCarried(true);
+        mCharacter.calculateWealthNotCarried(true);
+        setSize(getPreferredSize());
+        repaint();
+        return true;
+    }
+
+    /**
+     * @return The outline blocks to place on the sheet, in order, based on the layout preference.
+     *         Each entry holds the key of a single outline, or the keys of two outlines to be placed
+     *         side-by-side. Outlines without rows are omitted.
+     */
+    private List<String[]> collectOutlineBlocks() {
+        List<String[]> blocks    = new ArrayList<>();
+        Set<String>    remaining = prepBlockLayoutRemaining();
         for (String line : mCharacter.getSettings().blockLayout()) {
             String[] parts = line.trim().toLowerCase().split(" ");
             if (!parts[0].isEmpty() && remaining.contains(parts[0])) {
                 Outline o1 = getOutlineForKey(parts[0]);
                 if (o1 != null) {
-                    String t1 = getOutlineTitleForKey(parts[0]);
                     remaining.remove(parts[0]);
                     if (parts.length > 1 && remaining.contains(parts[1])) {
                         Outline o2 = getOutlineForKey(parts[1]);
                         if (o2 != null) {
-                            String t2 = getOutlineTitleForKey(parts[1]);
                             remaining.remove(parts[1]);
                             if (o1.getModel().getRowCount() > 0 && o2.getModel().getRowCount() > 0) {
-                                addedAtLeastOneOutline = true;
-                                addOutline(pageAssembler, o1, t1, o2, t2);
+                                blocks.add(new String[]{parts[0], parts[1]});
                             } else {
-                                addedAtLeastOneOutline |= addOutline(pageAssembler, o1, t1);
-                                addedAtLeastOneOutline |= addOutline(pageAssembler, o2, t2);
+                                addOutlineBlock(blocks, o1, parts[0]);
+                                addOutlineBlock(blocks, o2, parts[1]);
                             }
                             continue;
                         }
                     }
-                    addedAtLeastOneOutline |= addOutline(pageAssembler, o1, t1);
+                    addOutlineBlock(blocks, o1, parts[0]);
                 }
             }
         }
@@ -258,17 +381,20 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
             if (remaining.contains(one)) {
                 Outline outline = getOutlineForKey(one);
                 if (outline != null) {
-                    addedAtLeastOneOutline |= addOutline(pageAssembler, outline, getOutlineTitleForKey(one));
+                    addOutlineBlock(blocks, outline, one);
                 }
             }
         }
-        if (!addedAtLeastOneOutline) {
-            pageAssembler.addToContent(new Wrapper(), null, null);
+        return blocks;
+    }
+
+    private static void addOutlineBlock(List<String[]> blocks, Outline outline, String key) {
+        if (outline.getModel().getRowCount() > 0) {
+            blocks.add(new String[]{key});
         }
-        pageAssembler.finish();
+    }
 
-        // Ensure everything is laid out and register for notification
-        validate();
+    private void removeFromOutlineSyncer() {
         OutlineSyncer.remove(mReactionsOutline);
         OutlineSyncer.remove(mMeleeWeaponOutline);
         OutlineSyncer.remove(mRangedWeaponOutline);
@@ -278,18 +404,6 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         OutlineSyncer.remove(getEquipmentOutline());
         OutlineSyncer.remove(getOtherEquipmentOutline());
         OutlineSyncer.remove(getNoteOutline());
-        mCharacter.addTarget(this, GURPSCharacter.CHARACTER_PREFIX);
-        mCharacter.calculateWeightAndWealthCarried(true);
-        mCharacter.calculateWealthNotCarried(true);
-        if (focusKey != null) {
-            restoreFocusToKey(focusKey, this);
-        } else if (focus instanceof Outline) {
-            ((Outline) focus).getBestOutlineForRowIndex(firstRow).requestFocus();
-        } else if (focus != null) {
-            focus.requestFocus();
-        }
-        setSize(getPreferredSize());
-        repaint();
     }
 
     private static Set<String> prepBlockLayoutRemaining() {
@@ -390,19 +504,15 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
         return false;
     }
 
-    private boolean addOutline(PageAssembler pageAssembler, Outline outline, String title) {
-        if (outline.getModel().getRowCount() > 0) {
-            OutlineInfo info     = new OutlineInfo(outline, pageAssembler.getContentWidth());
-            boolean     useProxy = false;
-            while (pageAssembler.addToContent(new SingleOutlinePanel(getScale(), outline, title, useProxy), info, null)) {
-                if (!useProxy) {
-                    title = MessageFormat.format(I18n.Text("{0} (continued)"), title);
-                    useProxy = true;
-                }
+    private void addOutline(PageAssembler pageAssembler, Outline outline, String title) {
+        OutlineInfo info     = new OutlineInfo(outline, pageAssembler.getContentWidth());
+        boolean     useProxy = false;
+        while (pageAssembler.addToContent(new SingleOutlinePanel(getScale(), outline, title, useProxy), info, null)) {
+            if (!useProxy) {
+                title = MessageFormat.format(I18n.Text("{0} (continued)"), title);
+                useProxy = true;
             }
-            return true;
         }
-        return false;
     }
 
     private void addOutline(PageAssembler pageAssembler, Outline leftOutline, String leftTitle, Outline rightOutline, String rightTitle) {
@@ -677,6 +787,7 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
             mReloadSpellColumns = true;
         }
         if (MARK_FOR_REBUILD_NOTIFICATIONS.contains(type)) {
+            mNeedFullRebuild = true;
             markForRebuild();
         } else {
             if (type.startsWith(Advantage.PREFIX)) {
@@ -855,7 +966,9 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
     @Override
     public void run() {
         syncRoots();
-        rebuild();
+        if (!reflowExistingPages()) {
+            rebuild();
+        }
         mRebuildPending = false;
     }
 
@@ -960,12 +1073,18 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
             adjustToPageSetupChanges(true);
             setPrinting(true);
 
-            Document pdfDoc = new Document(new com.lowagie.text.Rectangle(width, height));
-            try (OutputStream out = Files.newOutputStream(path)) {
+            Document        pdfDoc     = new Document(new com.lowagie.text.Rectangle(width, height));
+            ExecutorService compressor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), PDF_BUFFER_SIZE)) {
                 PdfWriter      writer  = PdfWriter.getInstance(pdfDoc, out);
                 int            pageNum = 0;
                 PdfContentByte cb;
 
+                writer.setCompressionExecutor(compressor, true);
+                if (Preferences.getInstance().useCompactPDF()) {
+                    writer.setFullCompression();
+                    writer.setMergeDuplicateExtGStates(true);
+                }
                 pdfDoc.open();
                 cb = writer.getDirectContent();
                 while (true) {
@@ -985,6 +1104,8 @@ public class CharacterSheet extends CollectedOutlines implements ChangeListener,
                     cb.addTemplate(template, 0, 0);
                 }
                 pdfDoc.close();
+            } finally {
+                compressor.shutdown();
             }
             return true;
         } catch (Exception exception) {
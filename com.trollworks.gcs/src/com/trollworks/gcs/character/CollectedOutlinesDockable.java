@@ -14,8 +14,10 @@ package com.trollworks.gcs.character;
 import com.trollworks.gcs.advantage.Advantage;
 import com.trollworks.gcs.datafile.DataFile;
 import com.trollworks.gcs.datafile.DataFileDockable;
+import com.trollworks.gcs.datafile.Updatable;
 import com.trollworks.gcs.equipment.Equipment;
 import com.trollworks.gcs.equipment.EquipmentList;
+import com.trollworks.gcs.library.DataUpdater;
 import com.trollworks.gcs.menu.RetargetableFocus;
 import com.trollworks.gcs.notes.Note;
 import com.trollworks.gcs.preferences.Preferences;
@@ -25,27 +27,35 @@ import com.trollworks.gcs.spell.RitualMagicSpell;
 import com.trollworks.gcs.spell.Spell;
 import com.trollworks.gcs.ui.scale.Scales;
 import com.trollworks.gcs.ui.widget.Toolbar;
+import com.trollworks.gcs.ui.widget.WindowUtils;
 import com.trollworks.gcs.ui.widget.outline.ListOutline;
 import com.trollworks.gcs.ui.widget.outline.ListRow;
+import com.trollworks.gcs.ui.widget.outline.MultipleRowUndo;
 import com.trollworks.gcs.ui.widget.outline.Outline;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
 import com.trollworks.gcs.ui.widget.outline.Row;
 import com.trollworks.gcs.ui.widget.outline.RowItemRenderer;
 import com.trollworks.gcs.ui.widget.outline.RowIterator;
 import com.trollworks.gcs.ui.widget.outline.RowPostProcessor;
+import com.trollworks.gcs.ui.widget.outline.RowUndo;
 import com.trollworks.gcs.ui.widget.search.Search;
 import com.trollworks.gcs.ui.widget.search.SearchTarget;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.notification.NotifierTarget;
+import com.trollworks.gcs.utility.undo.MultipleUndo;
 
 import java.awt.BorderLayout;
 import java.awt.EventQueue;
 import java.awt.KeyboardFocusManager;
+import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import javax.swing.JComboBox;
+import javax.swing.JOptionPane;
 import javax.swing.ListCellRenderer;
 import javax.swing.undo.StateEdit;
 
@@ -180,11 +190,22 @@ public abstract class CollectedOutlinesDockable extends DataFileDockable impleme
     }
 
     /**
-     * Adds rows to the display.
+     * Adds rows to the display. The rows for each outline are inserted together and notifications
+     * are batched, so the character is only recalculated once, after all rows have been added.
      *
      * @param rows The rows to add.
      */
     public void addRows(List<Row> rows) {
+        DataFile dataFile = getDataFile();
+        dataFile.startNotify();
+        try {
+            addRowsInBatch(rows);
+        } finally {
+            dataFile.endNotify();
+        }
+    }
+
+    private void addRowsInBatch(List<Row> rows) {
         CollectedOutlines           outlines    = getCollectedOutlines();
         Map<ListOutline, StateEdit> map         = new HashMap<>();
         Map<Outline, List<Row>>     selMap      = new HashMap<>();
@@ -198,49 +219,49 @@ public abstract class CollectedOutlinesDockable extends DataFileDockable impleme
                     map.put(outline, new StateEdit(outline.getModel(), addRowsText));
                 }
                 row = new Advantage(getDataFile(), (Advantage) row, true);
-                addCompleteRow(outline, row, selMap);
+                selMap.computeIfAbsent(outline, k -> new ArrayList<>()).add(row);
             } else if (row instanceof Technique) {
                 outline = outlines.getSkillOutline();
                 if (!map.containsKey(outline)) {
                     map.put(outline, new StateEdit(outline.getModel(), addRowsText));
                 }
                 row = new Technique(getDataFile(), (Technique) row, true);
-                addCompleteRow(outline, row, selMap);
+                selMap.computeIfAbsent(outline, k -> new ArrayList<>()).add(row);
             } else if (row instanceof Skill) {
                 outline = outlines.getSkillOutline();
                 if (!map.containsKey(outline)) {
                     map.put(outline, new StateEdit(outline.getModel(), addRowsText));
                 }
                 row = new Skill(getDataFile(), (Skill) row, true, true);
-                addCompleteRow(outline, row, selMap);
+                selMap.computeIfAbsent(outline, k -> new ArrayList<>()).add(row);
             } else if (row instanceof RitualMagicSpell) {
                 outline = outlines.getSpellOutline();
                 if (!map.containsKey(outline)) {
                     map.put(outline, new StateEdit(outline.getModel(), addRowsText));
                 }
                 row = new RitualMagicSpell(getDataFile(), (RitualMagicSpell) row, true, true);
-                addCompleteRow(outline, row, selMap);
+                selMap.computeIfAbsent(outline, k -> new ArrayList<>()).add(row);
             } else if (row instanceof Spell) {
                 outline = outlines.getSpellOutline();
                 if (!map.containsKey(outline)) {
                     map.put(outline, new StateEdit(outline.getModel(), addRowsText));
                 }
                 row = new Spell(getDataFile(), (Spell) row, true, true);
-                addCompleteRow(outline, row, selMap);
+                selMap.computeIfAbsent(outline, k -> new ArrayList<>()).add(row);
             } else if (row instanceof Equipment) {
                 outline = row.getOwner().getProperty(EquipmentList.TAG_OTHER_ROOT) != null ? outlines.getOtherEquipmentOutline() : outlines.getEquipmentOutline();
                 if (!map.containsKey(outline)) {
                     map.put(outline, new StateEdit(outline.getModel(), addRowsText));
                 }
                 row = new Equipment(getDataFile(), (Equipment) row, true);
-                addCompleteRow(outline, row, selMap);
+                selMap.computeIfAbsent(outline, k -> new ArrayList<>()).add(row);
             } else if (row instanceof Note) {
                 outline = outlines.getNoteOutline();
                 if (!map.containsKey(outline)) {
                     map.put(outline, new StateEdit(outline.getModel(), addRowsText));
                 }
                 row = new Note(getDataFile(), (Note) row, true);
-                addCompleteRow(outline, row, selMap);
+                selMap.computeIfAbsent(outline, k -> new ArrayList<>()).add(row);
             } else {
                 row = null;
             }
@@ -252,7 +273,10 @@ public abstract class CollectedOutlinesDockable extends DataFileDockable impleme
         for (Map.Entry<ListOutline, StateEdit> entry : map.entrySet()) {
             ListOutline  anOutline = entry.getKey();
             OutlineModel model     = anOutline.getModel();
-            model.select(selMap.get(anOutline), false);
+            List<Row>    added     = selMap.get(anOutline);
+            model.addRows(added, true);
+            anOutline.contentSizeMayHaveChanged();
+            model.select(added, false);
             StateEdit edit = entry.getValue();
             edit.end();
             anOutline.postUndo(edit);
@@ -264,31 +288,90 @@ public abstract class CollectedOutlinesDockable extends DataFileDockable impleme
         }
     }
 
-    private void addRowsToBeProcessed(List<ListRow> list, ListRow row) {
-        int count = row.getChildCount();
-        list.add(row);
-        for (int i = 0; i < count; i++) {
-            addRowsToBeProcessed(list, (ListRow) row.getChild(i));
+    /**
+     * Updates rows that were copied from a library, but only where the library row has changed
+     * since the copy was made. Each such row is kept in place and only the fields it takes from
+     * the library are refreshed, so per-copy state and any children added to it are preserved.
+     * The user is asked to confirm first. All updates are made as a single undoable edit and
+     * notifications are batched, so the character is only recalculated once.
+     *
+     * @param updater The index of library rows to update from.
+     * @return The number of rows that were updated.
+     */
+    public int updateFromLibrary(DataUpdater updater) {
+        CollectedOutlines                       outlines = getCollectedOutlines();
+        Map<ListOutline, Map<ListRow, ListRow>> updates  = new LinkedHashMap<>();
+        int                                     count    = 0;
+        for (ListOutline outline : new ListOutline[]{outlines.getAdvantageOutline(), outlines.getSkillOutline(), outlines.getSpellOutline(), outlines.getEquipmentOutline(), outlines.getOtherEquipmentOutline(), outlines.getNoteOutline()}) {
+            Map<ListRow, ListRow> map = new LinkedHashMap<>();
+            for (Row row : outline.getModel().getTopLevelRows()) {
+                collectUpdates(updater, (ListRow) row, map);
+            }
+            if (!map.isEmpty()) {
+                updates.put(outline, map);
+                count += map.size();
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        String   cancel  = I18n.Text("Cancel");
+        Object[] options = {I18n.Text("Update"), cancel};
+        if (WindowUtils.showConfirmDialog(this, MessageFormat.format(I18n.Text("{0} rows have changed in the library since they were copied.\nUpdate them?"), Integer.valueOf(count)), I18n.Text("Update From Library"), JOptionPane.YES_NO_OPTION, options, cancel) != JOptionPane.YES_OPTION) {
+            return 0;
+        }
+        DataFile     dataFile = getDataFile();
+        MultipleUndo edit     = new MultipleUndo(I18n.Text("Update From Library"));
+        dataFile.addEdit(edit);
+        dataFile.startNotify();
+        try {
+            for (Map.Entry<ListOutline, Map<ListRow, ListRow>> entry : updates.entrySet()) {
+                List<RowUndo> undos = new ArrayList<>();
+                for (Map.Entry<ListRow, ListRow> one : entry.getValue().entrySet()) {
+                    ListRow row  = one.getKey();
+                    ListRow from = one.getValue();
+                    RowUndo undo = new RowUndo(row);
+                    row.updateFromLibrary(from, updater.fingerprints.get(from.getID()));
+                    if (undo.finish()) {
+                        undos.add(undo);
+                    }
+                }
+                if (!undos.isEmpty()) {
+                    new MultipleRowUndo(undos);
+                }
+                ListOutline outline = entry.getKey();
+                outline.contentSizeMayHaveChanged();
+                outline.repaint();
+            }
+        } finally {
+            dataFile.endNotify();
+            edit.end();
         }
+        return count;
     }
 
-    private void addCompleteRow(Outline outline, Row row, Map<Outline, List<Row>> selMap) {
-        List<Row> selection = selMap.get(outline);
-        addCompleteRow(outline.getModel(), row);
-        outline.contentSizeMayHaveChanged();
-        if (selection == null) {
-            selection = new ArrayList<>();
-            selMap.put(outline, selection);
+    private static void collectUpdates(DataUpdater updater, ListRow row, Map<ListRow, ListRow> updates) {
+        UUID basedOnID = row.getBasedOnID();
+        if (basedOnID != null) {
+            Updatable source = updater.updatables.get(basedOnID);
+            if (source != null && source.getClass() == row.getClass()) {
+                String fingerprint = updater.fingerprints.get(basedOnID);
+                if (fingerprint != null && !fingerprint.equals(row.getBasedOnHash())) {
+                    updates.put(row, (ListRow) source);
+                }
+            }
+        }
+        int count = row.getChildCount();
+        for (int i = 0; i < count; i++) {
+            collectUpdates(updater, (ListRow) row.getChild(i), updates);
         }
-        selection.add(row);
     }
 
-    private void addCompleteRow(OutlineModel outlineModel, Row row) {
-        outlineModel.addRow(row);
-        if (row.isOpen() && row.hasChildren()) {
-            for (Row child : row.getChildren()) {
-                addCompleteRow(outlineModel, child);
-            }
+    private void addRowsToBeProcessed(List<ListRow> list, ListRow row) {
+        int count = row.getChildCount();
+        list.add(row);
+        for (int i = 0; i < count; i++) {
+            addRowsToBeProcessed(list, (ListRow) row.getChild(i));
         }
     }
 
@@ -40,6 +40,7 @@ import com.trollworks.gcs.ui.image.Images;
 import com.trollworks.gcs.ui.print.PrintManager;
 import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.Row;
+import com.trollworks.gcs.ui.widget.outline.RowIterator;
 import com.trollworks.gcs.utility.Dice;
 import com.trollworks.gcs.utility.FileType;
 import com.trollworks.gcs.utility.FilteredIterator;
@@ -61,7 +62,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.regex.Pattern;
 
 /** A GURPS character. */
@@ -84,6 +89,15 @@ public class GURPSCharacter extends CollectedModels {
     private static final String                              KEY_SPEED_ADJ                        = "speed_adj";
     private static final String                              KEY_MOVE_ADJ                         = "move_adj";
     private static final String                              KEY_THIRD_PARTY_DATA                 = "third_party";
+    // The number of rows at which gathering features is split across threads
+    private static final int                                 PARALLEL_FEATURE_THRESHOLD           = 256;
+    // The recalculations that each notification type triggers, as a bitmask of the following
+    private static final int                                 RECALC_ADVANTAGE_POINTS              = 1;
+    private static final int                                 RECALC_SKILL_POINTS                  = 1 << 1;
+    private static final int                                 RECALC_SPELL_POINTS                  = 1 << 2;
+    private static final int                                 RECALC_EQUIPMENT                     = 1 << 3;
+    private static final int                                 RECALC_ATTRIBUTE_POINTS              = 1 << 4;
+    private static final Map<String, Integer>                RECALC_TRIGGERS                      = createRecalcTriggers();
     /** The prefix for all character IDs. */
     public static final  String                              CHARACTER_PREFIX                     = "gcs.";
     /** The field ID for last modified date changes. */
@@ -279,6 +293,8 @@ public class GURPSCharacter extends CollectedModels {
     private              String                              mPageSettingsString;
     private              boolean                             mSkillsUpdated;
     private              boolean                             mSpellsUpdated;
+    private              int                                 mLevelEpoch;
+    private              int                                 mRecalculationEpoch;
     private              boolean                             mDidModify;
     private              boolean                             mNeedAttributePointCalculation;
     private              boolean                             mNeedAdvantagesPointCalculation;
@@ -648,23 +664,44 @@ public class GURPSCharacter extends CollectedModels {
         mNeedEquipmentCalculation = false;
     }
 
+    private static Map<String, Integer> createRecalcTriggers() {
+        Map<String, Integer> map = new HashMap<>();
+        addRecalcTriggers(map, RECALC_ADVANTAGE_POINTS, Advantage.ID_POINTS, Advantage.ID_ROUND_COST_DOWN, Advantage.ID_LEVELS, Advantage.ID_CONTAINER_TYPE, Advantage.ID_LIST_CHANGED, Advantage.ID_CR, AdvantageModifier.ID_LIST_CHANGED, AdvantageModifier.ID_ENABLED);
+        addRecalcTriggers(map, RECALC_SKILL_POINTS, Skill.ID_POINTS, Skill.ID_LIST_CHANGED);
+        addRecalcTriggers(map, RECALC_SPELL_POINTS, Spell.ID_POINTS, Spell.ID_LIST_CHANGED);
+        addRecalcTriggers(map, RECALC_EQUIPMENT, Equipment.ID_QUANTITY, Equipment.ID_WEIGHT, Equipment.ID_EXTENDED_WEIGHT, Equipment.ID_LIST_CHANGED, EquipmentModifier.ID_WEIGHT_ADJ, EquipmentModifier.ID_COST_ADJ, EquipmentModifier.ID_ENABLED);
+        addRecalcTriggers(map, RECALC_ATTRIBUTE_POINTS, Profile.ID_SIZE_MODIFIER, Settings.ID_USE_KNOW_YOUR_OWN_STRENGTH);
+        return map;
+    }
+
+    private static void addRecalcTriggers(Map<String, Integer> map, int recalc, String... types) {
+        for (String type : types) {
+            map.merge(type, Integer.valueOf(recalc), (a, b) -> Integer.valueOf(a.intValue() | b.intValue()));
+        }
+    }
+
     @Override
     public void notify(String type, Object data) {
+        mRecalculationEpoch++;
         super.notify(type, data);
-        if (Advantage.ID_POINTS.equals(type) || Advantage.ID_ROUND_COST_DOWN.equals(type) || Advantage.ID_LEVELS.equals(type) || Advantage.ID_CONTAINER_TYPE.equals(type) || Advantage.ID_LIST_CHANGED.equals(type) || Advantage.ID_CR.equals(type) || AdvantageModifier.ID_LIST_CHANGED.equals(type) || AdvantageModifier.ID_ENABLED.equals(type)) {
-            mNeedAdvantagesPointCalculation = true;
-        }
-        if (Skill.ID_POINTS.equals(type) || Skill.ID_LIST_CHANGED.equals(type)) {
-            mNeedSkillPointCalculation = true;
-        }
-        if (Spell.ID_POINTS.equals(type) || Spell.ID_LIST_CHANGED.equals(type)) {
-            mNeedSpellPointCalculation = true;
-        }
-        if (Equipment.ID_QUANTITY.equals(type) || Equipment.ID_WEIGHT.equals(type) || Equipment.ID_EXTENDED_WEIGHT.equals(type) || Equipment.ID_LIST_CHANGED.equals(type) || EquipmentModifier.ID_WEIGHT_ADJ.equals(type) || EquipmentModifier.ID_COST_ADJ.equals(type) || EquipmentModifier.ID_ENABLED.equals(type)) {
-            mNeedEquipmentCalculation = true;
-        }
-        if (Profile.ID_SIZE_MODIFIER.equals(type) || Settings.ID_USE_KNOW_YOUR_OWN_STRENGTH.equals(type)) {
-            mNeedAttributePointCalculation = true;
+        Integer triggers = RECALC_TRIGGERS.get(type);
+        if (triggers != null) {
+            int recalc = triggers.intValue();
+            if ((recalc & RECALC_ADVANTAGE_POINTS) != 0) {
+                mNeedAdvantagesPointCalculation = true;
+            }
+            if ((recalc & RECALC_SKILL_POINTS) != 0) {
+                mNeedSkillPointCalculation = true;
+            }
+            if ((recalc & RECALC_SPELL_POINTS) != 0) {
+                mNeedSpellPointCalculation = true;
+            }
+            if ((recalc & RECALC_EQUIPMENT) != 0) {
+                mNeedEquipmentCalculation = true;
+            }
+            if ((recalc & RECALC_ATTRIBUTE_POINTS) != 0) {
+                mNeedAttributePointCalculation = true;
+            }
         }
     }
 
@@ -724,6 +761,7 @@ public class GURPSCharacter extends CollectedModels {
     }
 
     public void updateSkills() {
+        invalidateLevels();
         for (Skill skill : getSkillsIterator()) {
             skill.updateLevel(true);
         }
@@ -737,6 +775,28 @@ public class GURPSCharacter extends CollectedModels {
         mSpellsUpdated = true;
     }
 
+    /**
+     * @return The current level calculation epoch. Skill levels memoized during an earlier epoch
+     *         must be recalculated.
+     */
+    public int getLevelEpoch() {
+        return mLevelEpoch;
+    }
+
+    /** Advances the level calculation epoch, discarding any memoized skill levels. */
+    public void invalidateLevels() {
+        mLevelEpoch++;
+        mRecalculationEpoch++;
+    }
+
+    /**
+     * @return The current recalculation epoch. This advances whenever the character is changed in
+     *         any way, so values derived from it during an earlier epoch must be recalculated.
+     */
+    public int getRecalculationEpoch() {
+        return mRecalculationEpoch;
+    }
+
     /** @return The strength (ST). */
     public int getStrength() {
         return mStrength + mStrengthBonus;
@@ -878,53 +938,7 @@ public class GURPSCharacter extends CollectedModels {
      * @return The basic thrusting damage.
      */
     public Dice getThrust(int strength) {
-        if (mSettings.useThrustEqualsSwingMinus2()) {
-            Dice dice = getSwing(strength);
-            dice.add(-2);
-            return dice;
-        }
-        if (mSettings.useReducedSwing()) {
-            if (strength < 19) {
-                return new Dice(1, -(6 - (strength - 1) / 2));
-            }
-            int dice = 1;
-            int adds = (strength - 10) / 2 - 2;
-            if ((strength - 10) % 2 == 1) {
-                adds++;
-            }
-            dice += 2 * (adds / 7);
-            adds %= 7;
-            dice += adds / 4;
-            adds %= 4;
-            if (adds == 3) {
-                dice++;
-                adds = -1;
-            }
-
-            return new Dice(dice, adds);
-        }
-
-        if (mSettings.useKnowYourOwnStrength()) {
-            if (strength < 12) {
-                return new Dice(1, strength - 12);
-            }
-            return new Dice((strength - 7) / 4, (strength + 1) % 4 - 1);
-        }
-
-        int value = strength;
-
-        if (value < 19) {
-            return new Dice(1, -(6 - (value - 1) / 2));
-        }
-
-        value -= 11;
-        if (strength > 50) {
-            value--;
-            if (strength > 79) {
-                value -= 1 + (strength - 80) / 5;
-            }
-        }
-        return new Dice(value / 8 + 1, value % 8 / 2 - 1);
+        return StrengthTables.getThrust(strength, mSettings);
     }
 
     /** @return The basic swinging damage. */
@@ -937,52 +951,7 @@ public class GURPSCharacter extends CollectedModels {
      * @return The basic thrusting damage.
      */
     public Dice getSwing(int strength) {
-        if (mSettings.useReducedSwing()) {
-            if (strength < 10) {
-                return new Dice(1, -(5 - (strength - 1) / 2));
-            }
-
-            int dice = 1;
-            int adds = (strength - 10) / 2;
-            dice += 2 * (adds / 7);
-            adds %= 7;
-            dice += adds / 4;
-            adds %= 4;
-            if (adds == 3) {
-                dice++;
-                adds = -1;
-            }
-
-            return new Dice(dice, adds);
-        }
-
-        if (mSettings.useKnowYourOwnStrength()) {
-            if (strength < 10) {
-                return new Dice(1, strength - 10);
-            }
-            return new Dice((strength - 5) / 4, (strength - 1) % 4 - 1);
-        }
-
-        int value = strength;
-
-        if (value < 10) {
-            return new Dice(1, -(5 - (value - 1) / 2));
-        }
-
-        if (value < 28) {
-            value -= 9;
-            return new Dice(value / 4 + 1, value % 4 - 1);
-        }
-
-        if (strength > 40) {
-            value -= (strength - 40) / 5;
-        }
-
-        if (strength > 59) {
-            value++;
-        }
-        value += 9;
-        return new Dice(value / 8 + 1, value % 8 / 2 - 1);
+        return StrengthTables.getSwing(strength, mSettings);
     }
 
     /** @return Basic lift. */
@@ -991,23 +960,9 @@ public class GURPSCharacter extends CollectedModels {
     }
 
     private WeightValue getBasicLift(WeightUnits desiredUnits) {
-        Fixed6      ten = new Fixed6(10);
-        WeightUnits units;
-        Fixed6      divisor;
-        Fixed6      multiplier;
-        Fixed6      roundAt;
-        if (useSimpleMetricConversions() && defaultWeightUnits().isMetric()) {
-            units = WeightUnits.KG;
-            divisor = ten;
-            multiplier = Fixed6.ONE;
-            roundAt = new Fixed6(5);
-        } else {
-            units = WeightUnits.LB;
-            divisor = new Fixed6(5);
-            multiplier = new Fixed6(2);
-            roundAt = ten;
-        }
-        int strength = getStrength() + mLiftingStrengthBonus;
+        boolean     simpleMetric = useSimpleMetricConversions() && defaultWeightUnits().isMetric();
+        WeightUnits units        = simpleMetric ? WeightUnits.KG : WeightUnits.LB;
+        int         strength     = getStrength() + mLiftingStrengthBonus;
         if (isTired()) {
             boolean plusOne = strength % 2 != 0;
             strength /= 2;
@@ -1015,29 +970,7 @@ public class GURPSCharacter extends CollectedModels {
                 strength++;
             }
         }
-        Fixed6 value;
-        if (strength < 1) {
-            value = Fixed6.ZERO;
-        } else {
-            if (mSettings.useKnowYourOwnStrength()) {
-                int diff = 0;
-                if (strength > 19) {
-                    diff = strength / 10 - 1;
-                    strength -= diff * 10;
-                }
-                value = new Fixed6(Math.pow(10.0, strength / 10.0)).mul(multiplier);
-                value = strength <= 6 ? value.mul(ten).round().div(ten) : value.round();
-                value = value.mul(new Fixed6(Math.pow(10, diff)));
-            } else {
-                //noinspection UnnecessaryExplicitNumericCast
-                value = new Fixed6((long) strength * (long) strength).div(divisor);
-            }
-            if (value.greaterThanOrEqual(roundAt)) {
-                value = value.round();
-            }
-            value = value.mul(ten).trunc().div(ten);
-        }
-        return new WeightValue(desiredUnits.convert(units, value), desiredUnits);
+        return new WeightValue(desiredUnits.convert(units, StrengthTables.getBasicLift(strength, mSettings.useKnowYourOwnStrength(), simpleMetric)), desiredUnits);
     }
 
     private WeightValue getMultipleOfBasicLift(int multiple) {
@@ -2355,17 +2288,46 @@ public class GURPSCharacter extends CollectedModels {
     }
 
     private boolean processFeatures() {
+        List<RowIterator<? extends ListRow>> iterators = List.of(getAdvantagesIterator(false), getSkillsIterator(), getSpellsIterator(), getEquipmentIterator());
+        List<FeatureCollection>              collected = new ArrayList<>(iterators.size());
+        if (getAdvantagesModel().getRowCount() + getSkillsModel().getRowCount() + getSpellsModel().getRowCount() + getEquipmentModel().getRowCount() < PARALLEL_FEATURE_THRESHOLD) {
+            for (RowIterator<? extends ListRow> iterator : iterators) {
+                collected.add(collectFeatures(iterator));
+            }
+        } else {
+            List<ForkJoinTask<FeatureCollection>> tasks = new ArrayList<>(iterators.size());
+            for (RowIterator<? extends ListRow> iterator : iterators) {
+                tasks.add(ForkJoinPool.commonPool().submit(() -> collectFeatures(iterator)));
+            }
+            for (ForkJoinTask<FeatureCollection> task : tasks) {
+                collected.add(task.join());
+            }
+        }
+        // Merge in list order, so each key's features are in the same order a sequential pass
+        // would have produced. The features are only modified once everything has been gathered.
         HashMap<String, ArrayList<Feature>> map         = new HashMap<>();
-        boolean                             needRepaint = buildFeatureMap(map, getAdvantagesIterator(false));
-        needRepaint |= buildFeatureMap(map, getSkillsIterator());
-        needRepaint |= buildFeatureMap(map, getSpellsIterator());
-        needRepaint |= buildFeatureMap(map, getEquipmentIterator());
+        boolean                             needRepaint = false;
+        for (FeatureCollection collection : collected) {
+            for (Map.Entry<String, ArrayList<Feature>> entry : collection.mMap.entrySet()) {
+                ArrayList<Feature> list = map.get(entry.getKey());
+                if (list == null) {
+                    map.put(entry.getKey(), entry.getValue());
+                } else {
+                    list.addAll(entry.getValue());
+                }
+            }
+            needRepaint |= collection.apply();
+        }
         setFeatureMap(map);
         return needRepaint;
     }
 
-    private boolean buildFeatureMap(HashMap<String, ArrayList<Feature>> map, Iterator<? extends ListRow> iterator) {
-        boolean needRepaint = false;
+    /**
+     * Gathers the features of the rows from an iterator. The rows and features are only read, so
+     * this may be called for several lists at once.
+     */
+    private static FeatureCollection collectFeatures(Iterator<? extends ListRow> iterator) {
+        FeatureCollection collection = new FeatureCollection();
         while (iterator.hasNext()) {
             ListRow row = iterator.next();
             if (row instanceof Equipment) {
@@ -2375,25 +2337,19 @@ public class GURPSCharacter extends CollectedModels {
                     continue;
                 }
             }
+            int levels = row instanceof Advantage ? ((Advantage) row).getLevels() : 0;
             for (Feature feature : row.getFeatures()) {
-                needRepaint |= processFeature(map, row instanceof Advantage ? ((Advantage) row).getLevels() : 0, feature);
-                if (feature instanceof Bonus) {
-                    ((Bonus) feature).setParent(row);
-                }
+                collection.add(row, levels, feature);
             }
             if (row instanceof Advantage) {
                 Advantage advantage = (Advantage) row;
                 for (Bonus bonus : advantage.getCRAdj().getBonuses(advantage.getCR())) {
-                    needRepaint |= processFeature(map, 0, bonus);
-                    bonus.setParent(row);
+                    collection.add(row, 0, bonus);
                 }
                 for (AdvantageModifier modifier : advantage.getModifiers()) {
                     if (modifier.isEnabled()) {
                         for (Feature feature : modifier.getFeatures()) {
-                            needRepaint |= processFeature(map, modifier.getLevels(), feature);
-                            if (feature instanceof Bonus) {
-                                ((Bonus) feature).setParent(row);
-                            }
+                            collection.add(row, modifier.getLevels(), feature);
                         }
                     }
                 }
@@ -2403,35 +2359,50 @@ public class GURPSCharacter extends CollectedModels {
                 for (EquipmentModifier modifier : equipment.getModifiers()) {
                     if (modifier.isEnabled()) {
                         for (Feature feature : modifier.getFeatures()) {
-                            needRepaint |= processFeature(map, 0, feature);
-                            if (feature instanceof Bonus) {
-                                ((Bonus) feature).setParent(row);
-                            }
+                            collection.add(row, 0, feature);
                         }
                     }
                 }
             }
         }
-        return needRepaint;
+        return collection;
     }
 
-    private boolean processFeature(HashMap<String, ArrayList<Feature>> map, int levels, Feature feature) {
-        String             key         = feature.getKey().toLowerCase();
-        ArrayList<Feature> list        = map.get(key);
-        boolean            needRepaint = false;
-        if (list == null) {
-            list = new ArrayList<>(1);
-            map.put(key, list);
+    /**
+     * The features gathered from one list, along with the level and owner each bonus must be
+     * given once the lists have been merged.
+     */
+    private static class FeatureCollection {
+        private HashMap<String, ArrayList<Feature>> mMap     = new HashMap<>();
+        private List<Bonus>                         mBonuses = new ArrayList<>();
+        private List<ListRow>                       mOwners  = new ArrayList<>();
+        private List<Integer>                       mLevels  = new ArrayList<>();
+
+        void add(ListRow owner, int levels, Feature feature) {
+            mMap.computeIfAbsent(feature.getNormalizedKey(), k -> new ArrayList<>(1)).add(feature);
+            if (feature instanceof Bonus) {
+                mBonuses.add((Bonus) feature);
+                mOwners.add(owner);
+                mLevels.add(Integer.valueOf(levels));
+            }
         }
-        if (feature instanceof Bonus) {
-            LeveledAmount amount = ((Bonus) feature).getAmount();
-            if (amount.getLevel() != levels) {
-                amount.setLevel(levels);
-                needRepaint = true;
+
+        /** @return Whether any bonus needed its level changed. */
+        boolean apply() {
+            boolean needRepaint = false;
+            int     count       = mBonuses.size();
+            for (int i = 0; i < count; i++) {
+                Bonus         bonus  = mBonuses.get(i);
+                LeveledAmount amount = bonus.getAmount();
+                int           levels = mLevels.get(i).intValue();
+                if (amount.getLevel() != levels) {
+                    amount.setLevel(levels);
+                    needRepaint = true;
+                }
+                bonus.setParent(mOwners.get(i));
             }
+            return needRepaint;
         }
-        list.add(feature);
-        return needRepaint;
     }
 
     private boolean processPrerequisites(Iterator<? extends ListRow> iterator) {
@@ -2463,6 +2434,7 @@ public class GURPSCharacter extends CollectedModels {
     /** @param map The new feature map. */
     public void setFeatureMap(HashMap<String, ArrayList<Feature>> map) {
         mFeatureMap = map;
+        invalidateLevels();
         mSkillsUpdated = false;
         mSpellsUpdated = false;
 
@@ -2789,7 +2761,7 @@ public class GURPSCharacter extends CollectedModels {
     void postUndoEdit(String name, String id, Object before, Object after) {
         StdUndoManager mgr = getUndoManager();
         if (!mgr.isInTransaction()) {
-            if (before instanceof ListRow ? !((ListRow) before).isEquivalentTo(after) : !before.equals(after)) {
+            if (before instanceof ListRow ? !((ListRow) before).isEquivalentTo(after) : !Objects.equals(before, after)) {
                 addEdit(new CharacterFieldUndo(this, name, id, before, after));
             }
         }
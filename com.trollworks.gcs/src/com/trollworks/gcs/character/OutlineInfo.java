@@ -43,19 +43,33 @@ public class OutlineInfo {
         ColumnUtils.pack(outline, contentWidth - (insets.left + insets.right));
         outline.updateRowHeights();
 
-        mRowIndex = -1;
-        mHeights = new int[count];
-
+        int[] heights = new int[count];
         for (int i = 0; i < count; i++) {
             Row row = outlineModel.getRowAtIndex(i);
-            mHeights[i] = row.getHeight();
+            heights[i] = row.getHeight();
             if (hasRowDividers) {
-                mHeights[i] += one;
+                heights[i] += one;
             }
         }
+        init(heights, insets.top + insets.bottom + outline.getHeaderPanel().getPreferredSize().height);
+    }
 
-        mOverheadHeight = insets.top + insets.bottom + outline.getHeaderPanel().getPreferredSize().height;
-        mMinimumHeight = mOverheadHeight + (count > 0 ? mHeights[0] : 0);
+    /**
+     * Creates a new outline information holder from precomputed measurements, for use where no
+     * live outline is available.
+     *
+     * @param heights        The height of each row, including any row divider.
+     * @param overheadHeight The height of the border and header surrounding the rows.
+     */
+    public OutlineInfo(int[] heights, int overheadHeight) {
+        init(heights.clone(), overheadHeight);
+    }
+
+    private void init(int[] heights, int overheadHeight) {
+        mRowIndex = -1;
+        mHeights = heights;
+        mOverheadHeight = overheadHeight;
+        mMinimumHeight = mOverheadHeight + (heights.length > 0 ? heights[0] : 0);
     }
 
     /**
@@ -21,13 +21,12 @@ import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.Insets;
 
-/** Assembles pages in a sheet. */
+/** Assembles pages in a sheet, using a {@link PageLayout} to determine where pages break. */
 public class PageAssembler {
     private static final int            GAP = 2;
     private              CharacterSheet mSheet;
     private              Wrapper        mContent;
-    private              int            mRemaining;
-    private              int            mContentHeight;
+    private              PageLayout     mLayout;
     private              int            mContentWidth;
 
     /**
@@ -38,7 +37,11 @@ public class PageAssembler {
     PageAssembler(CharacterSheet sheet) {
         mSheet = sheet;
         Scale.setOverride(mSheet.getScale());
-        addPageInternal();
+        Page      page   = addPageInternal();
+        Insets    insets = page.getInsets();
+        Dimension size   = page.getSize();
+        mContentWidth = size.width - (insets.left + insets.right);
+        mLayout = new PageLayout(size.height - (insets.top + insets.bottom), Scale.get(mSheet).scale(GAP));
     }
 
     /** @return The content width. */
@@ -46,21 +49,20 @@ public class PageAssembler {
         return mContentWidth;
     }
 
-    private void addPageInternal() {
+    /** @return The page layout used to determine page breaks. */
+    public PageLayout getLayout() {
+        return mLayout;
+    }
+
+    private Page addPageInternal() {
         Page page = new Page(mSheet);
         mSheet.add(page);
-        if (mContentHeight < 1) {
-            Insets    insets = page.getInsets();
-            Dimension size   = page.getSize();
-            mContentWidth = size.width - (insets.left + insets.right);
-            mContentHeight = size.height - (insets.top + insets.bottom);
-        }
         if (mContent != null) {
             ((PrecisionLayout) mContent.getLayout()).getLayoutData(mContent.getComponent(mContent.getComponentCount() - 1)).setFillVerticalAlignment().setGrabVerticalSpace(true);
         }
         mContent = new Wrapper(new PrecisionLayout().setFillAlignment().setMargins(0, 0, 0, 0).setSpacing(GAP, GAP));
-        mRemaining = mContentHeight;
         page.add(mContent);
+        return page;
     }
 
     /**
@@ -73,71 +75,42 @@ public class PageAssembler {
      */
     public boolean addToContent(Container panel, OutlineInfo leftInfo, OutlineInfo rightInfo) {
         boolean isOutline = panel instanceof SingleOutlinePanel || panel instanceof DoubleOutlinePanel;
-        int     minLeft   = 0;
-        int     minRight  = 0;
         int     height;
 
-        if (mContent.getComponentCount() > 0) {
-            mRemaining -= Scale.get(mContent).scale(GAP);
-        }
-
         if (isOutline) {
-            minLeft = leftInfo.getMinimumHeight();
-            if (panel instanceof SingleOutlinePanel) {
-                height = minLeft;
-            } else {
-                minRight = rightInfo.getMinimumHeight();
-                height = Math.max(minLeft, minRight);
+            height = leftInfo.getMinimumHeight();
+            if (panel instanceof DoubleOutlinePanel) {
+                height = Math.max(height, rightInfo.getMinimumHeight());
             }
         } else {
             height = panel.getPreferredSize().height;
         }
-        if (mRemaining < height && mContent.getComponentCount() > 0) {
+        if (mLayout.beginBlock(height)) {
             addPageInternal();
         }
         mContent.add(panel, new PrecisionLayoutData().setFillHorizontalAlignment().setGrabHorizontalSpace(true));
 
+        boolean broke;
         if (isOutline) {
-            boolean hasMore;
             if (panel instanceof SingleOutlinePanel) {
                 int startIndex = leftInfo.getRowIndex() + 1;
-                int amt        = leftInfo.determineHeightForOutline(mRemaining);
+                broke = mLayout.endOutlineBlock(leftInfo, null);
                 ((SingleOutlinePanel) panel).setOutlineRowRange(startIndex, leftInfo.getRowIndex());
-                if (amt < minLeft) {
-                    amt = minLeft;
-                }
-                mRemaining -= amt;
-                hasMore = leftInfo.hasMore();
             } else {
-                DoubleOutlinePanel panel2      = (DoubleOutlinePanel) panel;
-                int                leftStart   = leftInfo.getRowIndex() + 1;
-                int                leftHeight  = leftInfo.determineHeightForOutline(mRemaining);
-                int                rightStart  = rightInfo.getRowIndex() + 1;
-                int                rightHeight = rightInfo.determineHeightForOutline(mRemaining);
+                DoubleOutlinePanel panel2     = (DoubleOutlinePanel) panel;
+                int                leftStart  = leftInfo.getRowIndex() + 1;
+                int                rightStart = rightInfo.getRowIndex() + 1;
+                broke = mLayout.endOutlineBlock(leftInfo, rightInfo);
                 panel2.setOutlineRowRange(false, leftStart, leftInfo.getRowIndex());
                 panel2.setOutlineRowRange(true, rightStart, rightInfo.getRowIndex());
-                if (leftHeight < minLeft) {
-                    leftHeight = minLeft;
-                }
-                if (rightHeight < minRight) {
-                    rightHeight = minRight;
-                }
-                mRemaining -= Math.max(leftHeight, rightHeight);
-                hasMore = leftInfo.hasMore() || rightInfo.hasMore();
-            }
-            if (hasMore) {
-                addPageInternal();
-                return true;
             }
-            return false;
+        } else {
+            broke = mLayout.endBlock(height);
         }
-
-        if (mRemaining >= height) {
-            mRemaining -= height;
-            return false;
+        if (broke) {
+            addPageInternal();
         }
-        addPageInternal();
-        return true;
+        return broke;
     }
 
     @SuppressWarnings("static-method")
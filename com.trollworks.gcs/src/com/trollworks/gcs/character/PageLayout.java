@@ -0,0 +1,132 @@
+/*
+ * Copyright ©1998-2020 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.character;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Computes the page breaks for a sheet from block heights alone. No components are required, so
+ * the same pagination can be determined whether or not a live sheet exists.
+ */
+public class PageLayout {
+    private int           mContentHeight;
+    private int           mGap;
+    private int           mRemaining;
+    private int           mPageCount;
+    private int           mBlocksOnPage;
+    private List<Integer> mPlacements;
+
+    /**
+     * Creates a new page layout, starting with a single empty page.
+     *
+     * @param contentHeight The height available for content on each page.
+     * @param gap           The vertical gap to place between blocks.
+     */
+    public PageLayout(int contentHeight, int gap) {
+        mContentHeight = contentHeight;
+        mGap = gap;
+        mPlacements = new ArrayList<>();
+        newPage();
+    }
+
+    /** @return The height available for content on each page. */
+    public int getContentHeight() {
+        return mContentHeight;
+    }
+
+    /** @return The vertical space remaining on the current page. */
+    public int getRemaining() {
+        return mRemaining;
+    }
+
+    /** @return The number of pages started so far. */
+    public int getPageCount() {
+        return mPageCount;
+    }
+
+    /**
+     * @return The placement decisions made so far: the page each block started on, followed by the
+     *         last row index placed for each outline within an outline block. Two layouts with equal
+     *         placements produce the same set of pages and sections.
+     */
+    public List<Integer> getPlacements() {
+        return Collections.unmodifiableList(mPlacements);
+    }
+
+    private void newPage() {
+        mPageCount++;
+        mRemaining = mContentHeight;
+        mBlocksOnPage = 0;
+    }
+
+    /**
+     * Begins placement of a block.
+     *
+     * @param height The minimum height the block requires on a page.
+     * @return {@code true} if a new page was started to hold the block.
+     */
+    public boolean beginBlock(int height) {
+        boolean broke = false;
+        if (mBlocksOnPage > 0) {
+            mRemaining -= mGap;
+            if (mRemaining < height) {
+                newPage();
+                broke = true;
+            }
+        }
+        mBlocksOnPage++;
+        mPlacements.add(Integer.valueOf(mPageCount));
+        return broke;
+    }
+
+    /**
+     * Finishes placement of a block with a fixed height.
+     *
+     * @param height The height of the block.
+     * @return {@code true} if the block did not fit and a new page was started after it.
+     */
+    public boolean endBlock(int height) {
+        if (mRemaining >= height) {
+            mRemaining -= height;
+            return false;
+        }
+        newPage();
+        return true;
+    }
+
+    /**
+     * Finishes placement of a block holding one or two outlines, consuming as many of their
+     * remaining rows as will fit on the current page.
+     *
+     * @param left  The left (or only) outline.
+     * @param right The right outline. May be {@code null}.
+     * @return {@code true} if rows remain to be placed and a new page was started for them.
+     */
+    public boolean endOutlineBlock(OutlineInfo left, OutlineInfo right) {
+        int height = Math.max(left.determineHeightForOutline(mRemaining), left.getMinimumHeight());
+        if (right != null) {
+            height = Math.max(height, Math.max(right.determineHeightForOutline(mRemaining), right.getMinimumHeight()));
+        }
+        mRemaining -= height;
+        mPlacements.add(Integer.valueOf(left.getRowIndex()));
+        if (right != null) {
+            mPlacements.add(Integer.valueOf(right.getRowIndex()));
+        }
+        if (left.hasMore() || (right != null && right.hasMore())) {
+            newPage();
+            return true;
+        }
+        return false;
+    }
+}
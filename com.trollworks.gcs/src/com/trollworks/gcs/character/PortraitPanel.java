@@ -91,7 +91,8 @@ public class PortraitPanel extends DropPanel implements DropTargetListener, Noti
     protected void paintComponent(Graphics g) {
         Graphics2D gc = GraphicsUtilities.prepare(g);
         super.paintComponent(gc);
-        RetinaIcon portrait = mSheet.getCharacter().getProfile().getPortrait();
+        Profile    profile  = mSheet.getCharacter().getProfile();
+        RetinaIcon portrait = mSheet.isPrinting() ? profile.getPortrait() : profile.getPortraitIfDecoded(this::repaint);
         if (portrait != null) {
             Insets insets = getInsets();
             portrait.paintIcon(this, gc, insets.left, insets.top);
@@ -24,6 +24,7 @@ import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Log;
 import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.json.JsonWriter;
+import com.trollworks.gcs.utility.task.Tasks;
 import com.trollworks.gcs.utility.text.Numbers;
 import com.trollworks.gcs.utility.units.LengthUnits;
 import com.trollworks.gcs.utility.units.LengthValue;
@@ -33,6 +34,7 @@ import static java.time.format.TextStyle.FULL;
 import static java.time.temporal.ChronoField.DAY_OF_MONTH;
 import static java.time.temporal.ChronoField.MONTH_OF_YEAR;
 
+import java.awt.EventQueue;
 import java.awt.Graphics2D;
 import java.awt.Transparency;
 import java.io.ByteArrayInputStream;
@@ -43,7 +45,9 @@ import java.text.MessageFormat;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.SignStyle;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Random;
 import javax.imageio.ImageIO;
 
@@ -113,6 +117,9 @@ public class Profile {
     private              GURPSCharacter    mCharacter;
     private              boolean           mCustomPortrait;
     private              RetinaIcon        mPortrait;
+    private              String            mEncodedPortrait;
+    private              boolean           mPortraitNeedsDecode;
+    private              List<Runnable>    mPortraitCallbacks;
     private              String            mName;
     private              String            mTitle;
     private              String            mAge;
@@ -176,12 +183,10 @@ public class Profile {
         mTechLevel = m.getString(TAG_TECH_LEVEL);
         mReligion = m.getString(TAG_RELIGION);
         if (m.has(TAG_PORTRAIT)) {
-            try {
-                mPortrait = createPortrait(Img.create(new ByteArrayInputStream(Base64.getDecoder().decode(m.getString(TAG_PORTRAIT)))));
-                mCustomPortrait = true;
-            } catch (Exception imageException) {
-                Log.warn(imageException);
-            }
+            // Decoding is deferred until the portrait is first needed
+            mEncodedPortrait = m.getString(TAG_PORTRAIT);
+            mPortraitNeedsDecode = true;
+            mCustomPortrait = true;
         }
     }
 
@@ -207,36 +212,109 @@ public class Profile {
         w.keyValue(TAG_BODY_TYPE, mHitLocationTable.getKey());
         w.keyValueNot(TAG_TECH_LEVEL, mTechLevel, "");
         w.keyValueNot(TAG_RELIGION, mReligion, "");
-        if (mCustomPortrait && mPortrait != null) {
+        if (mCustomPortrait && (mEncodedPortrait != null || mPortrait != null)) {
+            String encoded = getEncodedPortrait();
+            if (encoded != null) {
+                w.keyValue(TAG_PORTRAIT, encoded);
+            }
+        }
+        w.endMap();
+    }
+
+    /**
+     * @return The portrait, encoded as Base64 image data. The data loaded from the file, or the
+     *         encoding produced by the first save, is reused until the portrait changes.
+     */
+    private String getEncodedPortrait() {
+        if (mEncodedPortrait == null) {
             try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
                 ImageIO.write(mPortrait.getRetina(), FileType.PNG.getExtension(), baos);
-                w.keyValue(TAG_PORTRAIT, Base64.getEncoder().encodeToString(baos.toByteArray()));
+                mEncodedPortrait = Base64.getEncoder().encodeToString(baos.toByteArray());
             } catch (Exception imageException) {
                 Log.warn(imageException);
             }
         }
-        w.endMap();
+        return mEncodedPortrait;
     }
 
     void update() {
         setSizeModifierBonus(mCharacter.getIntegerBonusFor(GURPSCharacter.ATTRIBUTES_PREFIX + BonusAttributeType.SM.name()));
     }
 
-    /** @return The portrait. */
+    /** @return The portrait, decoding it on the calling thread first if that hasn't happened yet. */
     public RetinaIcon getPortrait() {
+        if (mPortraitNeedsDecode) {
+            portraitDecoded(mEncodedPortrait, decodePortrait(mEncodedPortrait));
+        }
         return mPortrait;
     }
 
+    /**
+     * @param whenDecoded Called on the UI thread once the portrait has been decoded, if it wasn't
+     *                    already available. Every caller that asks while the decode is in progress
+     *                    is called back.
+     * @return The portrait, or {@code null} if it is still waiting to be decoded. In that case,
+     *         decoding is started on a background thread, unless it already has been.
+     */
+    public RetinaIcon getPortraitIfDecoded(Runnable whenDecoded) {
+        if (!mPortraitNeedsDecode) {
+            return mPortrait;
+        }
+        if (mPortraitCallbacks == null) {
+            mPortraitCallbacks = new ArrayList<>();
+            String encoded = mEncodedPortrait;
+            Tasks.callOnBackgroundThread(() -> {
+                RetinaIcon portrait = decodePortrait(encoded);
+                EventQueue.invokeLater(() -> portraitDecoded(encoded, portrait));
+            });
+        }
+        mPortraitCallbacks.add(whenDecoded);
+        return null;
+    }
+
+    private static RetinaIcon decodePortrait(String encoded) {
+        try {
+            return createPortrait(Img.create(new ByteArrayInputStream(Base64.getDecoder().decode(encoded))));
+        } catch (Exception imageException) {
+            Log.warn(imageException);
+            return null;
+        }
+    }
+
+    private void portraitDecoded(String encoded, RetinaIcon portrait) {
+        // Ignore the result if the portrait was replaced while it was being decoded
+        if (mPortraitNeedsDecode && encoded == mEncodedPortrait) {
+            mPortraitNeedsDecode = false;
+            if (portrait != null) {
+                mPortrait = portrait;
+            } else {
+                mCustomPortrait = false;
+                mEncodedPortrait = null;
+            }
+        }
+        if (!mPortraitNeedsDecode && mPortraitCallbacks != null) {
+            List<Runnable> callbacks = mPortraitCallbacks;
+            mPortraitCallbacks = null;
+            for (Runnable callback : callbacks) {
+                callback.run();
+            }
+        }
+    }
+
     /**
      * Sets the portrait.
      *
      * @param portrait The new portrait.
      */
     public void setPortrait(Img portrait) {
-        if (portrait == null ? mPortrait != null : mPortrait.getRetina() != portrait) {
+        // Make sure a portrait loaded from the file has been decoded, so that it is the one the
+        // new portrait is compared against and the one undo restores
+        RetinaIcon old = getPortrait();
+        if (portrait == null ? old != null : old == null || old.getRetina() != portrait) {
             mCustomPortrait = true;
-            mCharacter.postUndoEdit(I18n.Text("Portrait Change"), ID_PORTRAIT, mPortrait, portrait);
+            mCharacter.postUndoEdit(I18n.Text("Portrait Change"), ID_PORTRAIT, old != null ? old.getRetina() : null, portrait);
             mPortrait = createPortrait(portrait);
+            mEncodedPortrait = null;
             mCharacter.notifySingle(ID_PORTRAIT, mPortrait);
         }
     }
@@ -683,7 +761,7 @@ public class Profile {
             } else if (ID_TECH_LEVEL.equals(id)) {
                 setTechLevel((String) value);
             } else if (ID_PORTRAIT.equals(id)) {
-                if (value instanceof Img) {
+                if (value == null || value instanceof Img) {
                     setPortrait((Img) value);
                 }
             } else if (ID_SIZE_MODIFIER.equals(id)) {
@@ -863,7 +941,7 @@ public class Profile {
      */
     public static Img getPortraitFromPortraitPath(String path) {
         if (Preferences.DEFAULT_DEFAULT_PORTRAIT_PATH.equals(path)) {
-            return Images.DEFAULT_PORTRAIT;
+            return Images.getDefaultPortrait();
         }
         try {
             return Img.create(new File(path));
@@ -0,0 +1,233 @@
+/*
+ * Copyright ©1998-2020 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.character;
+
+import com.trollworks.gcs.utility.Dice;
+import com.trollworks.gcs.utility.Fixed6;
+
+/**
+ * Shared lookup tables of basic damage and basic lift by strength. There is one table for each
+ * combination of the rules that affect them. The tables cover the strength values that occur in
+ * practice; anything outside of that range is calculated on demand.
+ */
+final class StrengthTables {
+    private static final int        MAX_STRENGTH  = 255;
+    private static final int        STANDARD      = 0;
+    private static final int        KYOS          = 1;
+    private static final int        REDUCED_SWING = 2;
+    private static final Dice[][]   SWING         = new Dice[3][];
+    private static final Dice[][]   THRUST        = new Dice[3][];
+    private static final Fixed6[][] BASIC_LIFT    = new Fixed6[4][];
+
+    static {
+        for (int rules = STANDARD; rules <= REDUCED_SWING; rules++) {
+            SWING[rules] = new Dice[MAX_STRENGTH + 1];
+            THRUST[rules] = new Dice[MAX_STRENGTH + 1];
+            for (int strength = 0; strength <= MAX_STRENGTH; strength++) {
+                SWING[rules][strength] = calculateSwing(strength, rules);
+                THRUST[rules][strength] = calculateThrust(strength, rules);
+            }
+        }
+        for (int i = 0; i < BASIC_LIFT.length; i++) {
+            BASIC_LIFT[i] = new Fixed6[MAX_STRENGTH + 1];
+            for (int strength = 0; strength <= MAX_STRENGTH; strength++) {
+                BASIC_LIFT[i][strength] = calculateBasicLift(strength, (i & 1) != 0, (i & 2) != 0);
+            }
+        }
+    }
+
+    private StrengthTables() {
+    }
+
+    private static int getDamageRules(Settings settings) {
+        if (settings.useReducedSwing()) {
+            return REDUCED_SWING;
+        }
+        return settings.useKnowYourOwnStrength() ? KYOS : STANDARD;
+    }
+
+    /**
+     * @param strength The strength to return basic thrusting damage for.
+     * @param settings The settings that determine which rules apply.
+     * @return The basic thrusting damage. The caller is free to modify it.
+     */
+    static Dice getThrust(int strength, Settings settings) {
+        if (settings.useThrustEqualsSwingMinus2()) {
+            Dice dice = getSwing(strength, settings);
+            dice.add(-2);
+            return dice;
+        }
+        int rules = getDamageRules(settings);
+        if (strength < 0 || strength > MAX_STRENGTH) {
+            return calculateThrust(strength, rules);
+        }
+        return THRUST[rules][strength].clone();
+    }
+
+    /**
+     * @param strength The strength to return basic swinging damage for.
+     * @param settings The settings that determine which rules apply.
+     * @return The basic swinging damage. The caller is free to modify it.
+     */
+    static Dice getSwing(int strength, Settings settings) {
+        int rules = getDamageRules(settings);
+        if (strength < 0 || strength > MAX_STRENGTH) {
+            return calculateSwing(strength, rules);
+        }
+        return SWING[rules][strength].clone();
+    }
+
+    /**
+     * @param strength            The lifting strength, already adjusted for fatigue.
+     * @param knowYourOwnStrength Whether the Knowing Your Own Strength rules apply.
+     * @param simpleMetric        Whether the value should be in kilograms, using the simple metric
+     *                            conversion rules, rather than pounds.
+     * @return The basic lift.
+     */
+    static Fixed6 getBasicLift(int strength, boolean knowYourOwnStrength, boolean simpleMetric) {
+        if (strength < 0 || strength > MAX_STRENGTH) {
+            return calculateBasicLift(strength, knowYourOwnStrength, simpleMetric);
+        }
+        return BASIC_LIFT[(knowYourOwnStrength ? 1 : 0) | (simpleMetric ? 2 : 0)][strength];
+    }
+
+    private static Dice calculateThrust(int strength, int rules) {
+        if (rules == REDUCED_SWING) {
+            if (strength < 19) {
+                return new Dice(1, -(6 - (strength - 1) / 2));
+            }
+            int dice = 1;
+            int adds = (strength - 10) / 2 - 2;
+            if ((strength - 10) % 2 == 1) {
+                adds++;
+            }
+            dice += 2 * (adds / 7);
+            adds %= 7;
+            dice += adds / 4;
+            adds %= 4;
+            if (adds == 3) {
+                dice++;
+                adds = -1;
+            }
+
+            return new Dice(dice, adds);
+        }
+
+        if (rules == KYOS) {
+            if (strength < 12) {
+                return new Dice(1, strength - 12);
+            }
+            return new Dice((strength - 7) / 4, (strength + 1) % 4 - 1);
+        }
+
+        int value = strength;
+
+        if (value < 19) {
+            return new Dice(1, -(6 - (value - 1) / 2));
+        }
+
+        value -= 11;
+        if (strength > 50) {
+            value--;
+            if (strength > 79) {
+                value -= 1 + (strength - 80) / 5;
+            }
+        }
+        return new Dice(value / 8 + 1, value % 8 / 2 - 1);
+    }
+
+    private static Dice calculateSwing(int strength, int rules) {
+        if (rules == REDUCED_SWING) {
+            if (strength < 10) {
+                return new Dice(1, -(5 - (strength - 1) / 2));
+            }
+
+            int dice = 1;
+            int adds = (strength - 10) / 2;
+            dice += 2 * (adds / 7);
+            adds %= 7;
+            dice += adds / 4;
+            adds %= 4;
+            if (adds == 3) {
+                dice++;
+                adds = -1;
+            }
+
+            return new Dice(dice, adds);
+        }
+
+        if (rules == KYOS) {
+            if (strength < 10) {
+                return new Dice(1, strength - 10);
+            }
+            return new Dice((strength - 5) / 4, (strength - 1) % 4 - 1);
+        }
+
+        int value = strength;
+
+        if (value < 10) {
+            return new Dice(1, -(5 - (value - 1) / 2));
+        }
+
+        if (value < 28) {
+            value -= 9;
+            return new Dice(value / 4 + 1, value % 4 - 1);
+        }
+
+        if (strength > 40) {
+            value -= (strength - 40) / 5;
+        }
+
+        if (strength > 59) {
+            value++;
+        }
+        value += 9;
+        return new Dice(value / 8 + 1, value % 8 / 2 - 1);
+    }
+
+    private static Fixed6 calculateBasicLift(int strength, boolean knowYourOwnStrength, boolean simpleMetric) {
+        if (strength < 1) {
+            return Fixed6.ZERO;
+        }
+        Fixed6 ten = new Fixed6(10);
+        Fixed6 divisor;
+        Fixed6 multiplier;
+        Fixed6 roundAt;
+        if (simpleMetric) {
+            divisor = ten;
+            multiplier = Fixed6.ONE;
+            roundAt = new Fixed6(5);
+        } else {
+            divisor = new Fixed6(5);
+            multiplier = new Fixed6(2);
+            roundAt = ten;
+        }
+        Fixed6 value;
+        if (knowYourOwnStrength) {
+            int diff = 0;
+            if (strength > 19) {
+                diff = strength / 10 - 1;
+                strength -= diff * 10;
+            }
+            value = new Fixed6(Math.pow(10.0, strength / 10.0)).mul(multiplier);
+            value = strength <= 6 ? value.mul(ten).round().div(ten) : value.round();
+            value = value.mul(new Fixed6(Math.pow(10, diff)));
+        } else {
+            //noinspection UnnecessaryExplicitNumericCast
+            value = new Fixed6((long) strength * (long) strength).div(divisor);
+        }
+        if (value.greaterThanOrEqual(roundAt)) {
+            value = value.round();
+        }
+        return value.mul(ten).trunc().div(ten);
+    }
+}
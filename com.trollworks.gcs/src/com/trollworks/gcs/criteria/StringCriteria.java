@@ -16,11 +16,14 @@ import com.trollworks.gcs.utility.json.JsonWriter;
 import com.trollworks.gcs.utility.text.Enums;
 
 import java.io.IOException;
+import java.util.BitSet;
 
 /** Manages string comparison criteria. */
 public class StringCriteria extends Criteria {
     private StringCompareType mType;
     private String            mQualifier;
+    private BitSet            mCheckedIDs;
+    private BitSet            mMatchedIDs;
 
     /**
      * Creates a new string comparison.
@@ -87,6 +90,7 @@ public class StringCriteria extends Criteria {
     /** @param type The type of comparison to make. */
     public void setType(StringCompareType type) {
         mType = type;
+        mCheckedIDs = null;
     }
 
     /** @return The qualifier to match against. */
@@ -97,6 +101,7 @@ public class StringCriteria extends Criteria {
     /** @param qualifier The qualifier to match against. */
     public void setQualifier(String qualifier) {
         mQualifier = qualifier != null ? qualifier : "";
+        mCheckedIDs = null;
     }
 
     /**
@@ -107,6 +112,28 @@ public class StringCriteria extends Criteria {
         return mType.matches(mQualifier, data);
     }
 
+    /**
+     * Same as {@link #matches(String)}, but the result is remembered, so that later checks of the
+     * same data are just a bit test.
+     *
+     * @param dataID A small, non-negative number that uniquely identifies the data, such as an
+     *               interned category ID.
+     * @param data   The data to match against.
+     * @return Whether the data matches this criteria.
+     */
+    public boolean matches(int dataID, String data) {
+        if (mCheckedIDs == null) {
+            mCheckedIDs = new BitSet();
+            mMatchedIDs = new BitSet();
+        } else if (mCheckedIDs.get(dataID)) {
+            return mMatchedIDs.get(dataID);
+        }
+        boolean matches = matches(data);
+        mCheckedIDs.set(dataID);
+        mMatchedIDs.set(dataID, matches);
+        return matches;
+    }
+
     @Override
     public String toString() {
         return mType.describe(mQualifier);
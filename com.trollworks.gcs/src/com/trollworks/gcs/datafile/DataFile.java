@@ -17,8 +17,8 @@ import com.trollworks.gcs.preferences.Preferences;
 import com.trollworks.gcs.ui.RetinaIcon;
 import com.trollworks.gcs.ui.widget.DataModifiedListener;
 import com.trollworks.gcs.utility.FileType;
+import com.trollworks.gcs.utility.FileContents;
 import com.trollworks.gcs.utility.Log;
-import com.trollworks.gcs.utility.SafeFileUpdater;
 import com.trollworks.gcs.utility.SaveType;
 import com.trollworks.gcs.utility.VersionException;
 import com.trollworks.gcs.utility.json.Json;
@@ -29,13 +29,8 @@ import com.trollworks.gcs.utility.notification.NotifierTarget;
 import com.trollworks.gcs.utility.undo.StdUndoManager;
 import com.trollworks.gcs.utility.units.WeightUnits;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.io.StringWriter;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -58,24 +53,37 @@ public abstract class DataFile implements Updatable, Undoable {
 
     /** @param path The path to load. */
     public void load(Path path) throws IOException {
+        load(path, readJSON(path));
+    }
+
+    /**
+     * @param path The path the data was read from.
+     * @param m    The {@link JsonMap} previously read from the path with {@link #readJSON(Path)}.
+     */
+    public void load(Path path, JsonMap m) throws IOException {
         setPath(path);
-        try (BufferedReader fileReader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-            fileReader.mark(20);
-            char[] buffer = new char[5];
-            int    n      = fileReader.read(buffer);
-            if (n < 0) {
-                throw new IOException("Premature EOF");
-            }
-            fileReader.reset();
-            if (n == 5 && buffer[0] == '<' && buffer[1] == '?' && buffer[2] == 'x' && buffer[3] == 'm' && buffer[4] == 'l') {
-                throw new IOException("The old xml format from versions prior to GCS v4.20 cannot be read by this version of GCS");
-            } else {
-                load(Json.asMap(Json.parse(fileReader)), new LoadState());
-            }
-        }
+        load(m, new LoadState());
         mModified = false;
     }
 
+    /**
+     * Reads and parses a data file without building a model from it. Unlike the rest of the load
+     * process, this may be called from a background thread.
+     *
+     * @param path The path to read.
+     * @return The {@link JsonMap} read from the path.
+     */
+    public static JsonMap readJSON(Path path) throws IOException {
+        String text = FileContents.getText(path);
+        if (text.isEmpty()) {
+            throw new IOException("Premature EOF");
+        }
+        if (text.startsWith("<?xml")) {
+            throw new IOException("The old xml format from versions prior to GCS v4.20 cannot be read by this version of GCS");
+        }
+        return Json.asMap(Json.parse(text));
+    }
+
     /**
      * @param m     The {@link JsonMap} to load data from.
      * @param state The {@link LoadState} to use.
@@ -102,28 +110,52 @@ public abstract class DataFile implements Updatable, Undoable {
     protected abstract void loadSelf(JsonMap m, LoadState state) throws IOException;
 
     /**
-     * Saves the data out to the specified path. Does not affect the result of {@link #getPath()}.
+     * Saves the data out to the specified path, waiting for the write to complete. Any snapshots
+     * already queued by {@link #saveInBackground(Path, Runnable)} are written first, so they can't
+     * replace this one afterwards. Does not affect the result of {@link #getPath()}.
      *
      * @param path The path to write to.
      * @return {@code true} on success.
      */
     public boolean save(Path path) {
-        SafeFileUpdater transaction = new SafeFileUpdater();
-        boolean         success     = false;
-        transaction.begin();
+        SaveQueue.waitForPendingWrites();
         try {
-            File transactionFile = transaction.getTransactionFile(path.toFile());
-            try (JsonWriter w = new JsonWriter(new BufferedWriter(new FileWriter(transactionFile, StandardCharsets.UTF_8)), "\t")) {
-                save(w, SaveType.NORMAL, false);
-            }
-            transaction.commit();
+            SaveQueue.write(path, createSnapshot());
+            setModified(false);
+            return true;
+        } catch (Exception exception) {
+            Log.error(exception);
+            return false;
+        }
+    }
+
+    /**
+     * Takes a snapshot of the data and queues it to be written to the specified path on a
+     * background thread. The file is marked as unmodified as soon as the snapshot has been taken.
+     *
+     * @param path           The path to save to.
+     * @param failureHandler Called on the UI thread if the snapshot could not be written. May be
+     *                       {@code null}.
+     * @return {@code true} if the snapshot was taken and queued.
+     */
+    public boolean saveInBackground(Path path, Runnable failureHandler) {
+        try {
+            SaveQueue.queue(path, createSnapshot(), failureHandler);
             setModified(false);
-            success = true;
+            return true;
         } catch (Exception exception) {
             Log.error(exception);
-            transaction.abort();
+            return false;
+        }
+    }
+
+    /** @return The current state of the data, serialized as it would be saved to disk. */
+    public String createSnapshot() throws IOException {
+        StringWriter buffer = new StringWriter();
+        try (JsonWriter w = new JsonWriter(buffer, "\t")) {
+            save(w, SaveType.NORMAL, false);
         }
-        return success;
+        return buffer.toString();
     }
 
     /**
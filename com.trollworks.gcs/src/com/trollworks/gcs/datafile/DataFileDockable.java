@@ -34,6 +34,7 @@ import javax.swing.Icon;
 public abstract class DataFileDockable extends Dockable implements CloseHandler, Saveable, Undoable {
     private DataFile mDataFile;
     private String   mUntitledName;
+    private boolean  mClosing;
 
     /**
      * Creates a new {@link DataFileDockable}.
@@ -100,15 +101,22 @@ public abstract class DataFileDockable extends Dockable implements CloseHandler,
 
     @Override
     public Path[] saveTo(Path path) {
-        if (mDataFile.save(path)) {
+        // A save made while closing must complete before the window goes away, as a failure
+        // reported afterwards would leave the user with no way to save the data again.
+        if (mClosing ? mDataFile.save(path) : mDataFile.saveInBackground(path, this::saveFailed)) {
             mDataFile.setPath(path);
             getDockContainer().updateTitle(this);
             return new Path[]{path};
         }
-        WindowUtils.showError(this, I18n.Text("An error occurred while trying to save the file."));
+        saveFailed();
         return new Path[0];
     }
 
+    private void saveFailed() {
+        mDataFile.setModified(true);
+        WindowUtils.showError(this, I18n.Text("An error occurred while trying to save the file."));
+    }
+
     @Override
     public boolean mayAttemptClose() {
         return true;
@@ -116,9 +124,21 @@ public abstract class DataFileDockable extends Dockable implements CloseHandler,
 
     @Override
     public boolean attemptClose() {
-        if (SaveCommand.attemptSave(this)) {
-            getDockContainer().close(this);
-            return true;
+        boolean saved;
+        mClosing = true;
+        try {
+            saved = SaveCommand.attemptSave(this);
+        } finally {
+            mClosing = false;
+        }
+        if (saved) {
+            // An earlier background save may still be pending. Should it fail, its failure handler
+            // runs once this returns, so leave the window open for it.
+            Path path = getBackingFile();
+            if (path == null || SaveQueue.waitForPendingWrites(path)) {
+                getDockContainer().close(this);
+                return true;
+            }
         }
         return false;
     }
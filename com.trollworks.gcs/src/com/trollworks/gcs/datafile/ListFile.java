@@ -11,6 +11,7 @@
 
 package com.trollworks.gcs.datafile;
 
+import com.trollworks.gcs.ui.widget.outline.CategorySet;
 import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
 import com.trollworks.gcs.ui.widget.outline.Row;
@@ -20,6 +21,7 @@ import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.json.JsonWriter;
 
 import java.io.IOException;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -78,20 +80,24 @@ public abstract class ListFile extends DataFile {
 
     /** @return The set of categories that exist in this {@link ListFile}. */
     public Set<String> getCategories() {
-        Set<String> set = new TreeSet<>();
+        BitSet ids = new BitSet();
         for (Row row : getTopLevelRows()) {
-            processRowForCategories(row, set);
+            processRowForCategories(row, ids);
+        }
+        Set<String> set = new TreeSet<>();
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            set.add(CategorySet.getName(id));
         }
         return set;
     }
 
-    private void processRowForCategories(Row row, Set<String> set) {
+    private void processRowForCategories(Row row, BitSet ids) {
         if (row instanceof ListRow) {
-            set.addAll(((ListRow) row).getCategories());
+            ((ListRow) row).getCategories().addIDsTo(ids);
         }
         if (row.hasChildren()) {
             for (Row child : row.getChildren()) {
-                processRowForCategories(child, set);
+                processRowForCategories(child, ids);
             }
         }
     }
@@ -0,0 +1,172 @@
+/*
+ * Copyright ©1998-2020 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.datafile;
+
+import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.SafeFileUpdater;
+
+import java.awt.EventQueue;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Writes snapshots of data files to disk on a background thread. Each write is atomic: the content
+ * is written to a transaction file and synced to disk before it replaces the original. If several
+ * snapshots of the same file are queued before the writer gets to them, only the most recent one
+ * is written. A failed background write is remembered until its failure handler has run or the
+ * file has been written successfully, so that callers about to discard the data can find out.
+ */
+public final class SaveQueue {
+    private static final ExecutorService    EXECUTOR = Executors.newSingleThreadExecutor(SaveQueue::createThread);
+    private static final Map<Path, Pending> PENDING  = new HashMap<>();
+    private static final Set<Path>          FAILED   = new HashSet<>();
+
+    private SaveQueue() {
+    }
+
+    private static Thread createThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "Save Queue");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Queues a snapshot to be written in the background, replacing any snapshot for the same file
+     * that hasn't been written yet.
+     *
+     * @param path           The file to write to.
+     * @param text           The content to write.
+     * @param failureHandler Called on the UI thread if the write fails. May be {@code null}.
+     */
+    public static void queue(Path path, String text, Runnable failureHandler) {
+        Path key = createKey(path);
+        synchronized (PENDING) {
+            Pending pending = PENDING.get(key);
+            if (pending != null) {
+                pending.mText = text;
+                pending.mFailureHandler = failureHandler;
+                return;
+            }
+            PENDING.put(key, new Pending(text, failureHandler));
+        }
+        EXECUTOR.execute(() -> writePending(key));
+    }
+
+    private static void writePending(Path path) {
+        Pending pending;
+        synchronized (PENDING) {
+            pending = PENDING.remove(path);
+        }
+        if (pending != null) {
+            try {
+                write(path, pending.mText);
+            } catch (Exception exception) {
+                Log.error(exception);
+                synchronized (FAILED) {
+                    FAILED.add(path);
+                }
+                EventQueue.invokeLater(() -> {
+                    synchronized (FAILED) {
+                        FAILED.remove(path);
+                    }
+                    if (pending.mFailureHandler != null) {
+                        pending.mFailureHandler.run();
+                    }
+                });
+            }
+        }
+    }
+
+    private static Path createKey(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Blocks until all snapshots queued so far have been written.
+     *
+     * @return The files whose background write failed and hasn't yet been reported to its failure
+     *         handler. Empty if there are none.
+     */
+    public static List<Path> waitForPendingWrites() {
+        try {
+            EXECUTOR.submit(() -> {
+                // Nothing to do; writes are handled in order, so once this runs, prior ones are done.
+            }).get();
+        } catch (InterruptedException | ExecutionException exception) {
+            Log.error(exception);
+        }
+        synchronized (FAILED) {
+            return new ArrayList<>(FAILED);
+        }
+    }
+
+    /**
+     * Blocks until all snapshots queued so far have been written.
+     *
+     * @param path The file to check.
+     * @return {@code false} if a background write of the file failed and hasn't yet been reported
+     *         to its failure handler.
+     */
+    public static boolean waitForPendingWrites(Path path) {
+        return !waitForPendingWrites().contains(createKey(path));
+    }
+
+    /**
+     * Writes content to a file immediately, on the calling thread.
+     *
+     * @param path The file to write to.
+     * @param text The content to write.
+     * @throws IOException if the file cannot be written. In this case, the original file is left
+     *                     untouched.
+     */
+    public static void write(Path path, String text) throws IOException {
+        Path            key         = createKey(path);
+        SafeFileUpdater transaction = new SafeFileUpdater();
+        transaction.begin();
+        try {
+            File file = transaction.getTransactionFile(path.toFile());
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                out.write(text.getBytes(StandardCharsets.UTF_8));
+                out.getFD().sync();
+            }
+            transaction.commit();
+        } catch (IOException | RuntimeException exception) {
+            transaction.abort();
+            throw exception;
+        }
+        synchronized (FAILED) {
+            FAILED.remove(key);
+        }
+    }
+
+    private static class Pending {
+        private String   mText;
+        private Runnable mFailureHandler;
+
+        Pending(String text, Runnable failureHandler) {
+            mText = text;
+            mFailureHandler = failureHandler;
+        }
+    }
+}
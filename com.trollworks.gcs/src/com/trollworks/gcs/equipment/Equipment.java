@@ -178,10 +178,12 @@ public class Equipment extends ListRow implements HasSourceReference {
                 mWeapons.add(new RangedWeaponStats(this, (RangedWeaponStats) weapon));
             }
         }
+        mWeapons = compact(mWeapons);
         mModifiers = new ArrayList<>(equipment.mModifiers.size());
         for (EquipmentModifier modifier : equipment.mModifiers) {
             mModifiers.add(new EquipmentModifier(mDataFile, modifier, false));
         }
+        mModifiers = compact(mModifiers);
         mExtendedValue = new Fixed6(mQuantity).mul(getAdjustedValue());
         mExtendedWeight = new WeightValue(getAdjustedWeight(false));
         mExtendedWeight.setValue(mExtendedWeight.getValue().mul(new Fixed6(mQuantity)));
@@ -300,6 +302,7 @@ public class Equipment extends ListRow implements HasSourceReference {
         mMaxUses = m.getInt(TAG_MAX_USES);
         if (m.has(KEY_WEAPONS)) {
             WeaponStats.loadFromJSONArray(this, m.getArray(KEY_WEAPONS), mWeapons);
+            mWeapons = compact(mWeapons);
         }
         if (m.has(KEY_MODIFIERS)) {
             JsonArray a     = m.getArray(KEY_MODIFIERS);
@@ -307,6 +310,7 @@ public class Equipment extends ListRow implements HasSourceReference {
             for (int i = 0; i < count; i++) {
                 mModifiers.add(new EquipmentModifier(getDataFile(), a.getMap(i), state));
             }
+            mModifiers = compact(mModifiers);
         }
     }
 
@@ -871,11 +875,9 @@ public class Equipment extends ListRow implements HasSourceReference {
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getDescription().toLowerCase().contains(text)) {
-            return true;
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void collectSearchableText(List<String> fields) {
+        fields.add(getDescription());
+        super.collectSearchableText(fields);
     }
 
     @Override
@@ -967,6 +969,34 @@ public class Equipment extends ListRow implements HasSourceReference {
         }
     }
 
+    @Override
+    public void updateFromLibrary(ListRow source, String hash) {
+        super.updateFromLibrary(source, hash);
+        Equipment equipment = (Equipment) source;
+        setDescription(equipment.mDescription);
+        setReference(equipment.mReference);
+        setWeapons(copyWeapons(equipment.mWeapons));
+        List<EquipmentModifier> modifiers = new ArrayList<>(equipment.mModifiers.size());
+        for (EquipmentModifier modifier : equipment.mModifiers) {
+            EquipmentModifier copy = new EquipmentModifier(mDataFile, modifier, false);
+            EquipmentModifier old  = getModifierFor(modifier.getName());
+            if (old != null) {
+                copy.setEnabled(old.isEnabled());
+            }
+            modifiers.add(copy);
+        }
+        setModifiers(modifiers);
+    }
+
+    private EquipmentModifier getModifierFor(String name) {
+        for (EquipmentModifier m : mModifiers) {
+            if (m.getName().equals(name)) {
+                return m;
+            }
+        }
+        return null;
+    }
+
     /**
      * @param name The name to match against. Case-insensitive.
      * @return The first modifier that matches the name.
@@ -12,6 +12,7 @@
 package com.trollworks.gcs.feature;
 
 import com.trollworks.gcs.criteria.StringCriteria;
+import com.trollworks.gcs.ui.widget.outline.CategorySet;
 import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.json.JsonMap;
@@ -112,7 +113,15 @@ public abstract class Bonus extends Feature {
     }
 
     protected static boolean matchesCategories(StringCriteria criteria, Set<String> categories) {
-        if (categories != null) {
+        if (categories instanceof CategorySet) {
+            CategorySet set   = (CategorySet) categories;
+            int         count = set.size();
+            for (int i = 0; i < count; i++) {
+                if (criteria.matches(set.getID(i), set.get(i))) {
+                    return true;
+                }
+            }
+        } else if (categories != null) {
             for (String category : categories) {
                 if (criteria.matches(category)) {
                     return true;
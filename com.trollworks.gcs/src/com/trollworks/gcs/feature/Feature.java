@@ -20,12 +20,35 @@ import java.util.Set;
 
 /** Describes a feature of an advantage, skill, spell, or piece of equipment. */
 public abstract class Feature {
+    private String mNormalizedKey;
+
     /** @return The type name to use for this data. */
     public abstract String getJSONTypeName();
 
     /** @return The feature key used in the feature map. */
     public abstract String getKey();
 
+    /**
+     * @return The feature key, lowercased for use in the feature map. It is computed on first use
+     *         and then reused until {@link #invalidateNormalizedKey()} is called.
+     */
+    public final String getNormalizedKey() {
+        String key = mNormalizedKey;
+        if (key == null) {
+            key = getKey().toLowerCase();
+            mNormalizedKey = key;
+        }
+        return key;
+    }
+
+    /**
+     * Discards the cached normalized key. Must be called after a feature that may already be in
+     * use is changed in a way that could alter its key.
+     */
+    public final void invalidateNormalizedKey() {
+        mNormalizedKey = null;
+    }
+
     /** @return An exact clone of this feature. */
     public abstract Feature cloneFeature();
 
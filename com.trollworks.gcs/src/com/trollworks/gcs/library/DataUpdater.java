@@ -22,6 +22,7 @@ import com.trollworks.gcs.notes.NoteList;
 import com.trollworks.gcs.skill.SkillList;
 import com.trollworks.gcs.spell.SpellList;
 import com.trollworks.gcs.template.Template;
+import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.utility.FileType;
 import com.trollworks.gcs.utility.PathUtils;
 
@@ -37,6 +38,7 @@ import java.util.UUID;
 
 public class DataUpdater {
     public Map<UUID, Updatable>  updatables;
+    public Map<UUID, String>     fingerprints;
     public Map<Path, List<Path>> ignoreMap;
 
     public DataUpdater() throws IOException {
@@ -46,6 +48,12 @@ public class DataUpdater {
         for (Library library : Library.LIBRARIES) {
             traverse(uuidToPathMap, library.getPath());
         }
+        fingerprints = new HashMap<>();
+        for (Map.Entry<UUID, Updatable> entry : updatables.entrySet()) {
+            if (entry.getValue() instanceof ListRow) {
+                fingerprints.put(entry.getKey(), ((ListRow) entry.getValue()).getContentHash());
+            }
+        }
     }
 
     private void traverse(Map<UUID, Path> uuidToPathMap, Path dir) throws IOException {
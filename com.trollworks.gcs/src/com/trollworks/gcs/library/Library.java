@@ -14,23 +14,18 @@ package com.trollworks.gcs.library;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Log;
 import com.trollworks.gcs.utility.Release;
-import com.trollworks.gcs.utility.UrlUtils;
 import com.trollworks.gcs.utility.Version;
 import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.json.JsonWriter;
 import com.trollworks.gcs.utility.text.NumericComparator;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 
 public class Library implements Comparable<Library> {
     public static final  Version       MINIMUM_LIBRARY_VERSION             = new Version();
@@ -195,41 +190,14 @@ public class Library implements Comparable<Library> {
         return new Version();
     }
 
+    /**
+     * Installs a release into this library, replacing its current content. Only files whose
+     * content differs from what is already on disk are written.
+     *
+     * @param release The release to install.
+     */
     public void download(Release release) throws IOException {
-        Path root = getPath(); // will recreate the dir
-        try (ZipInputStream in = new ZipInputStream(new BufferedInputStream(UrlUtils.setupConnection(release.getZipFileURL()).getInputStream()))) {
-            byte[]   buffer = new byte[8192];
-            ZipEntry entry;
-            while ((entry = in.getNextEntry()) != null) {
-                if (entry.isDirectory()) {
-                    continue;
-                }
-                Path entryPath = Paths.get(entry.getName());
-                int  nameCount = entryPath.getNameCount();
-                if (nameCount < 3 || !"Library".equals(entryPath.getName(1).toString())) {
-                    continue;
-                }
-                long size = entry.getSize();
-                if (size < 1) {
-                    continue;
-                }
-                Path path = root.resolve(entryPath.subpath(2, nameCount));
-                Files.createDirectories(path.getParent());
-                try (OutputStream out = Files.newOutputStream(path)) {
-                    while (size > 0) {
-                        int amt = in.read(buffer);
-                        if (amt < 0) {
-                            break;
-                        }
-                        if (amt > 0) {
-                            size -= amt;
-                            out.write(buffer, 0, amt);
-                        }
-                    }
-                }
-            }
-            Files.writeString(root.resolve(RELEASE_FILE), release.getVersion() + "\n");
-        }
+        LibraryDownloader.install(release, mPath, RELEASE_FILE);
     }
 
     private String getSortKey() {
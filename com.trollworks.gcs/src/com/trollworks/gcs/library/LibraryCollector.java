@@ -20,25 +20,38 @@ import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LibraryCollector implements Comparator<Object> {
-    private List<Object>       mCurrent;
-    private List<List<Object>> mStack;
-    private Set<Path>          mDirs;
+    private static final Map<Path, Map<Path, Listing>> LISTINGS = new ConcurrentHashMap<>();
+    private              Map<Path, Listing>            mPreviousListings;
+    private              Map<Path, Listing>            mListings;
+    private              List<Object>                  mCurrent;
+    private              List<List<Object>>            mStack;
+    private              Set<Path>                     mDirs;
 
     @SuppressWarnings("unchecked")
     public static List<Object> list(String name, Path root, Set<Path> dirs) {
-        LibraryCollector collector = new LibraryCollector();
+        // The listings cached for a root are replaced by those of each new scan, so directories
+        // that have since been removed don't linger
+        Path             key       = root.normalize().toAbsolutePath();
+        LibraryCollector collector = new LibraryCollector(LISTINGS.getOrDefault(key, Collections.emptyMap()));
         try {
             collector.traverse(root);
         } catch (Exception exception) {
             Log.error(exception);
         }
+        LISTINGS.put(key, collector.mListings);
         dirs.addAll(collector.mDirs);
         List<Object> current = collector.mCurrent;
         if (current.isEmpty()) {
@@ -50,7 +63,22 @@ public class LibraryCollector implements Comparator<Object> {
         return current;
     }
 
-    private LibraryCollector() {
+    /**
+     * Discards the listings cached for library roots other than those given.
+     *
+     * @param roots The library roots to keep listings for.
+     */
+    public static void retainListings(Collection<Path> roots) {
+        Set<Path> keys = new HashSet<>();
+        for (Path root : roots) {
+            keys.add(root.normalize().toAbsolutePath());
+        }
+        LISTINGS.keySet().retainAll(keys);
+    }
+
+    private LibraryCollector(Map<Path, Listing> previousListings) {
+        mPreviousListings = previousListings;
+        mListings = new HashMap<>();
         mDirs = new HashSet<>();
         mCurrent = new ArrayList<>();
         mStack = new ArrayList<>();
@@ -62,25 +90,17 @@ public class LibraryCollector implements Comparator<Object> {
             mStack.add(mCurrent);
             mCurrent = new ArrayList<>();
             mCurrent.add(dir.getFileName().toString());
-            // IMPORTANT: On Windows, calling any of the older methods to list the contents of a
-            // directory results in leaving state around that prevents future move & delete
-            // operations. Only use this style of access for directory listings to avoid that.
-            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
-                for (Path path : stream) {
-                    if (Files.isDirectory(path)) {
-                        traverse(path);
-                    } else if (!shouldSkip(path)) {
-                        String ext = PathUtils.getExtension(path.getFileName());
-                        for (FileType one : FileType.ALL_OPENABLE) {
-                            if (one.matchExtension(ext)) {
-                                mCurrent.add(path);
-                                break;
-                            }
-                        }
-                    }
+            // The listing is already sorted, so the entries come out in display order
+            Listing listing = getListing(dir);
+            int     count   = listing.mEntries.size();
+            for (int i = 0; i < count; i++) {
+                Path path = listing.mEntries.get(i);
+                if (listing.mDirectory[i]) {
+                    traverse(path);
+                } else {
+                    mCurrent.add(path);
                 }
             }
-            mCurrent.sort(this);
             List<Object> restoring = mStack.remove(mStack.size() - 1);
             if (mCurrent.size() > 1) {
                 restoring.add(mCurrent);
@@ -89,6 +109,50 @@ public class LibraryCollector implements Comparator<Object> {
         }
     }
 
+    /**
+     * @param dir The directory to list.
+     * @return The sub-directories and openable files in the directory, sorted by name. Listings
+     *         are cached until the directory's modification time changes.
+     */
+    private Listing getListing(Path dir) throws IOException {
+        Path     key      = dir.normalize().toAbsolutePath();
+        FileTime modified = Files.getLastModifiedTime(key);
+        Listing  listing  = mPreviousListings.get(key);
+        if (listing != null && listing.mModified.equals(modified)) {
+            mListings.put(key, listing);
+            return listing;
+        }
+        List<Path> entries     = new ArrayList<>();
+        Set<Path>  directories = new HashSet<>();
+        // IMPORTANT: On Windows, calling any of the older methods to list the contents of a
+        // directory results in leaving state around that prevents future move & delete
+        // operations. Only use this style of access for directory listings to avoid that.
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path path : stream) {
+                if (Files.isDirectory(path)) {
+                    entries.add(path);
+                    directories.add(path);
+                } else if (!shouldSkip(path)) {
+                    String ext = PathUtils.getExtension(path.getFileName());
+                    for (FileType one : FileType.ALL_OPENABLE) {
+                        if (one.matchExtension(ext)) {
+                            entries.add(path);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        entries.sort(this);
+        boolean[] directory = new boolean[entries.size()];
+        for (int i = 0; i < directory.length; i++) {
+            directory[i] = directories.contains(entries.get(i));
+        }
+        listing = new Listing(modified, entries, directory);
+        mListings.put(key, listing);
+        return listing;
+    }
+
     @Override
     public int compare(Object o1, Object o2) {
         return NumericComparator.compareStrings(getName(o1), getName(o2));
@@ -107,4 +171,16 @@ public class LibraryCollector implements Comparator<Object> {
     private static boolean shouldSkip(Path path) {
         return path.getFileName().toString().startsWith(".");
     }
+
+    private static class Listing {
+        private FileTime   mModified;
+        private List<Path> mEntries;
+        private boolean[]  mDirectory;
+
+        Listing(FileTime modified, List<Path> entries, boolean[] directory) {
+            mModified = modified;
+            mEntries = entries;
+            mDirectory = directory;
+        }
+    }
 }
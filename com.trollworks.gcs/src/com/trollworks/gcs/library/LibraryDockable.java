@@ -24,6 +24,7 @@ import com.trollworks.gcs.ui.scale.Scales;
 import com.trollworks.gcs.ui.widget.IconButton;
 import com.trollworks.gcs.ui.widget.Toolbar;
 import com.trollworks.gcs.ui.widget.dock.Dockable;
+import com.trollworks.gcs.ui.widget.outline.CategorySet;
 import com.trollworks.gcs.ui.widget.outline.ListOutline;
 import com.trollworks.gcs.ui.widget.outline.ListRow;
 import com.trollworks.gcs.ui.widget.outline.OutlineModel;
@@ -32,14 +33,19 @@ import com.trollworks.gcs.ui.widget.outline.RowFilter;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.PrintProxy;
 import com.trollworks.gcs.utility.notification.BatchNotifierTarget;
+import com.trollworks.gcs.utility.task.Tasks;
 import com.trollworks.gcs.utility.text.Text;
 
 import java.awt.BorderLayout;
 import java.awt.Component;
 import java.awt.Dimension;
+import java.awt.EventQueue;
 import java.awt.Font;
 import java.awt.KeyboardFocusManager;
 import java.awt.dnd.DropTarget;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import javax.swing.DefaultListCellRenderer;
 import javax.swing.JComboBox;
 import javax.swing.JList;
@@ -50,13 +56,19 @@ import javax.swing.event.DocumentListener;
 
 /** A list from a library. */
 public abstract class LibraryDockable extends DataFileDockable implements RowFilter, DocumentListener, BatchNotifierTarget, JumpToSearchTarget, RetargetableFocus {
-    private Toolbar           mToolbar;
-    private JComboBox<Scales> mScaleCombo;
-    private JTextField        mFilterField;
-    private JComboBox<String> mCategoryCombo;
-    private IconButton        mLockButton;
-    private JScrollPane       mScroller;
-    private ListOutline       mOutline;
+    private static final int                    BACKGROUND_FILTER_THRESHOLD = 2000;
+    private              Toolbar                mToolbar;
+    private              JComboBox<Scales>      mScaleCombo;
+    private              JTextField             mFilterField;
+    private              JComboBox<String>      mCategoryCombo;
+    private              IconButton             mLockButton;
+    private              JScrollPane            mScroller;
+    private              ListOutline            mOutline;
+    private              String                 mFilterText                 = "";
+    private              String                 mFilterCategory;
+    private              int                    mFilterCategoryID;
+    private              Map<Row, FilterResult> mFilterResults              = new WeakHashMap<>();
+    private              int                    mFilterGeneration;
 
     /** Creates a new {@link LibraryDockable}. */
     public LibraryDockable(ListFile file) {
@@ -177,7 +189,7 @@ public abstract class LibraryDockable extends DataFileDockable implements RowFil
             mCategoryCombo.revalidate();
             mCategoryCombo.repaint();
             if (mOutline != null) {
-                mOutline.reapplyRowFilter();
+                filterChanged();
             }
         });
         mToolbar.add(mCategoryCombo);
@@ -199,23 +211,92 @@ public abstract class LibraryDockable extends DataFileDockable implements RowFil
 
     @Override
     public boolean isRowFiltered(Row row) {
-        boolean filtered = false;
-        if (row instanceof ListRow) {
-            ListRow listRow = (ListRow) row;
-            if (mCategoryCombo.getSelectedIndex() != 0) {
-                String selectedItem = (String) mCategoryCombo.getSelectedItem();
-                if (selectedItem != null) {
-                    filtered = !listRow.getCategories().contains(selectedItem);
-                }
+        if (!(row instanceof ListRow) || (mFilterCategory == null && mFilterText.isEmpty())) {
+            return false;
+        }
+        // Painting asks about every visible row, so results are kept until the filter changes or
+        // the row does. A row's search text is replaced whenever it changes, so a result computed
+        // against a different search text is stale.
+        ListRow      listRow    = (ListRow) row;
+        String       searchText = listRow.getSearchText();
+        FilterResult result     = mFilterResults.get(row);
+        if (result == null || result.mSearchText != searchText) {
+            result = new FilterResult(searchText, isFilteredOut(isCategoryFilteredOut(listRow, mFilterCategory, mFilterCategoryID), searchText, mFilterText));
+            mFilterResults.put(row, result);
+        }
+        return result.mFiltered;
+    }
+
+    private static boolean isCategoryFilteredOut(ListRow row, String category, int categoryID) {
+        return category != null && !row.getCategories().containsID(categoryID);
+    }
+
+    private static boolean isFilteredOut(boolean categoryFilteredOut, String searchText, String filterText) {
+        return categoryFilteredOut || (!filterText.isEmpty() && !searchText.contains(filterText));
+    }
+
+    private void filterChanged() {
+        int       generation = ++mFilterGeneration;
+        String    text       = mFilterField.getText().toLowerCase();
+        String    category   = mCategoryCombo.getSelectedIndex() != 0 ? (String) mCategoryCombo.getSelectedItem() : null;
+        int       categoryID = category != null ? CategorySet.getID(category) : -1;
+        List<Row> rows       = mOutline.getModel().getRows();
+        int       count      = rows.size();
+        if (count < BACKGROUND_FILTER_THRESHOLD || text.isEmpty()) {
+            applyFilter(text, category, new WeakHashMap<>());
+            return;
+        }
+        // Large lists are matched against the new filter text on a background thread. The rows'
+        // search text and categories are captured here, since the rows may only be touched on this
+        // thread. Until the results arrive, the previous filter remains in effect.
+        ListRow[] listRows   = new ListRow[count];
+        String[]  texts      = new String[count];
+        boolean[] categories = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            Row row = rows.get(i);
+            if (row instanceof ListRow) {
+                listRows[i] = (ListRow) row;
+                texts[i] = listRows[i].getSearchText();
+                categories[i] = isCategoryFilteredOut(listRows[i], category, categoryID);
             }
-            if (!filtered) {
-                String filter = mFilterField.getText();
-                if (!filter.isEmpty()) {
-                    filtered = !listRow.contains(filter.toLowerCase(), true);
+        }
+        Tasks.callOnBackgroundThread(() -> {
+            boolean[] filtered = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                if (listRows[i] != null) {
+                    filtered[i] = isFilteredOut(categories[i], texts[i], text);
                 }
             }
+            EventQueue.invokeLater(() -> {
+                if (generation == mFilterGeneration) {
+                    Map<Row, FilterResult> results = new WeakHashMap<>();
+                    for (int i = 0; i < count; i++) {
+                        if (listRows[i] != null) {
+                            results.put(listRows[i], new FilterResult(texts[i], filtered[i]));
+                        }
+                    }
+                    applyFilter(text, category, results);
+                }
+            });
+        });
+    }
+
+    private void applyFilter(String text, String category, Map<Row, FilterResult> results) {
+        mFilterText = text;
+        mFilterCategory = category;
+        mFilterCategoryID = category != null ? CategorySet.getID(category) : -1;
+        mFilterResults = results;
+        mOutline.reapplyRowFilter();
+    }
+
+    private static class FilterResult {
+        private String  mSearchText;
+        private boolean mFiltered;
+
+        FilterResult(String searchText, boolean filtered) {
+            mSearchText = searchText;
+            mFiltered = filtered;
         }
-        return filtered;
     }
 
     @Override
@@ -234,7 +315,7 @@ public abstract class LibraryDockable extends DataFileDockable implements RowFil
     }
 
     private void documentChanged() {
-        mOutline.reapplyRowFilter();
+        filterChanged();
     }
 
     @Override
@@ -0,0 +1,229 @@
+/*
+ * Copyright ©1998-2020 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.library;
+
+import com.trollworks.gcs.utility.RecursiveDirectoryRemover;
+import com.trollworks.gcs.utility.Release;
+import com.trollworks.gcs.utility.UrlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Installs a library release. The release zip is first spooled to a file next to the library, so
+ * that an interrupted download can be resumed. Its entries are then verified and extracted in
+ * parallel into a staging directory. Files whose content is unchanged are hard-linked from the
+ * current library rather than written again. Finally, the staging directory is swapped in for the
+ * current library. The current library is left untouched if anything fails before the swap.
+ */
+final class LibraryDownloader {
+    private static final String LIBRARY_DIR    = "Library";
+    private static final int    HTTP_PARTIAL   = 206;
+    private static final int    HTTP_BAD_RANGE = 416;
+    private static final int    MAX_EXTRACTORS = 4;
+
+    private LibraryDownloader() {
+    }
+
+    private static Thread createThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "Library Extractor");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * @param release     The release to install.
+     * @param root        The root directory of the library.
+     * @param releaseFile The name of the file to record the release version in.
+     */
+    static void install(Release release, Path root, String releaseFile) throws IOException {
+        root = root.normalize().toAbsolutePath();
+        Path   parent = root.getParent();
+        String name   = root.getFileName().toString();
+        Files.createDirectories(parent);
+        Path spool = parent.resolve(name + "-" + release.getVersion() + ".zip.part");
+        spool(new URL(release.getZipFileURL()), spool, true);
+        Path staging = parent.resolve(name + ".new");
+        if (Files.exists(staging)) {
+            RecursiveDirectoryRemover.remove(staging, true);
+        }
+        Files.createDirectories(staging);
+        boolean installed = false;
+        try {
+            extract(spool, root, staging);
+            Files.writeString(staging.resolve(releaseFile), release.getVersion() + "\n");
+            swap(root, staging, parent.resolve(name + ".save"));
+            installed = true;
+        } finally {
+            if (!installed) {
+                RecursiveDirectoryRemover.remove(staging, true);
+            }
+            // The spool is complete at this point, so it isn't worth keeping for a resume, even if
+            // its content turned out to be bad.
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    private static void spool(URL url, Path spool, boolean allowResume) throws IOException {
+        long          offset = allowResume && Files.exists(spool) ? Files.size(spool) : 0;
+        URLConnection conn   = UrlUtils.setupConnection(url, offset);
+        int           code   = ((HttpURLConnection) conn).getResponseCode();
+        if (code == HTTP_BAD_RANGE) {
+            // The partial file doesn't match what the server has, so start over
+            spool(url, spool, false);
+            return;
+        }
+        long total;
+        if (code == HTTP_PARTIAL && offset > 0) {
+            total = parseContentRangeTotal(conn.getHeaderField("Content-Range"), offset);
+        } else if (code == HttpURLConnection.HTTP_OK) {
+            offset = 0;
+            total = conn.getContentLengthLong();
+        } else {
+            throw new IOException("unexpected response from server: " + code);
+        }
+        try (InputStream in = conn.getInputStream(); OutputStream out = offset > 0 ? Files.newOutputStream(spool, StandardOpenOption.APPEND) : Files.newOutputStream(spool)) {
+            in.transferTo(out);
+        }
+        if (total >= 0 && Files.size(spool) != total) {
+            throw new IOException("incomplete download");
+        }
+    }
+
+    private static long parseContentRangeTotal(String contentRange, long offset) throws IOException {
+        // Expected form: "bytes <start>-<end>/<total>", where total may be "*" if unknown
+        if (contentRange != null && contentRange.startsWith("bytes ")) {
+            int dash  = contentRange.indexOf('-');
+            int slash = contentRange.indexOf('/');
+            if (dash > 6 && slash > dash) {
+                try {
+                    if (Long.parseLong(contentRange.substring(6, dash).trim()) == offset) {
+                        String total = contentRange.substring(slash + 1).trim();
+                        return "*".equals(total) ? -1 : Long.parseLong(total);
+                    }
+                } catch (NumberFormatException exception) {
+                    // Fall through to the error below
+                }
+            }
+        }
+        throw new IOException("invalid content range from server: " + contentRange);
+    }
+
+    private static void extract(Path spool, Path root, Path staging) throws IOException {
+        try (ZipFile zip = new ZipFile(spool.toFile())) {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(MAX_EXTRACTORS, Runtime.getRuntime().availableProcessors())), LibraryDownloader::createThread);
+            try {
+                List<Future<?>>                 futures = new ArrayList<>();
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    if (entry.isDirectory() || entry.getSize() < 1) {
+                        continue;
+                    }
+                    Path entryPath = Paths.get(entry.getName());
+                    int  nameCount = entryPath.getNameCount();
+                    if (nameCount < 3 || !LIBRARY_DIR.equals(entryPath.getName(1).toString())) {
+                        continue;
+                    }
+                    String relative = entryPath.subpath(2, nameCount).toString();
+                    Path   target   = staging.resolve(relative).normalize();
+                    if (!target.startsWith(staging)) {
+                        throw new ZipException("invalid entry: " + entry.getName());
+                    }
+                    Path existing = root.resolve(relative);
+                    futures.add(executor.submit(() -> {
+                        extractEntry(zip, entry, existing, target);
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IOException(exception);
+            } catch (ExecutionException exception) {
+                Throwable cause = exception.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw new IOException(cause);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static void extractEntry(ZipFile zip, ZipEntry entry, Path existing, Path target) throws IOException {
+        byte[] data;
+        try (InputStream in = zip.getInputStream(entry)) {
+            data = in.readAllBytes();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        if (data.length != entry.getSize() || crc.getValue() != entry.getCrc()) {
+            throw new ZipException("corrupt entry: " + entry.getName());
+        }
+        Files.createDirectories(target.getParent());
+        if (Files.isRegularFile(existing) && Files.size(existing) == data.length && Arrays.equals(Files.readAllBytes(existing), data)) {
+            try {
+                Files.createLink(target, existing);
+                return;
+            } catch (IOException | UnsupportedOperationException exception) {
+                // Hard links aren't available here, so just write the file
+            }
+        }
+        Files.write(target, data);
+    }
+
+    private static void swap(Path root, Path staging, Path save) throws IOException {
+        if (Files.exists(save)) {
+            RecursiveDirectoryRemover.remove(save, true);
+        }
+        boolean hadRoot = Files.exists(root);
+        if (hadRoot) {
+            Files.move(root, save, StandardCopyOption.ATOMIC_MOVE);
+        }
+        try {
+            Files.move(staging, root, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            if (hadRoot) {
+                Files.move(save, root, StandardCopyOption.ATOMIC_MOVE);
+            }
+            throw exception;
+        }
+        if (hadRoot) {
+            RecursiveDirectoryRemover.remove(save, true);
+        }
+    }
+}
@@ -15,6 +15,8 @@ import com.trollworks.gcs.advantage.AdvantageList;
 import com.trollworks.gcs.advantage.AdvantagesDockable;
 import com.trollworks.gcs.character.GURPSCharacter;
 import com.trollworks.gcs.character.SheetDockable;
+import com.trollworks.gcs.datafile.DataFile;
+import com.trollworks.gcs.datafile.ListFile;
 import com.trollworks.gcs.equipment.EquipmentDockable;
 import com.trollworks.gcs.equipment.EquipmentList;
 import com.trollworks.gcs.menu.edit.Deletable;
@@ -60,6 +62,7 @@ import com.trollworks.gcs.utility.FileType;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Log;
 import com.trollworks.gcs.utility.PathUtils;
+import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.notification.Notifier;
 import com.trollworks.gcs.utility.text.NumericComparator;
 
@@ -69,8 +72,10 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import javax.swing.Icon;
@@ -79,9 +84,12 @@ import javax.swing.ListCellRenderer;
 
 /** A list of available library files. */
 public class LibraryExplorerDockable extends Dockable implements SearchTarget, FieldAccessor, IconAccessor, Openable, Deletable {
-    private Search    mSearch;
-    private TreePanel mTreePanel;
-    private Notifier  mNotifier;
+    private Search      mSearch;
+    private TreePanel   mTreePanel;
+    private Notifier    mNotifier;
+    private int         mScanGeneration;
+    private int         mPendingScans;
+    private Set<String> mPendingOpenRowKeys;
 
     public static LibraryExplorerDockable get() {
         for (Dockable dockable : Workspace.get().getDock().getDockables()) {
@@ -97,7 +105,6 @@ public class LibraryExplorerDockable extends Dockable implements SearchTarget, F
         super(new BorderLayout());
         mNotifier = new Notifier();
         TreeRoot root = new TreeRoot(mNotifier);
-        fillTree(LibraryUpdater.collectFiles(), root);
         mTreePanel = new TreePanel(root);
         mTreePanel.setShowHeader(false);
         mTreePanel.addColumn(new TextTreeColumn(I18n.Text("Library Explorer"), this, this));
@@ -119,8 +126,9 @@ public class LibraryExplorerDockable extends Dockable implements SearchTarget, F
         add(mTreePanel, BorderLayout.CENTER);
         List<String> openRowKeys = Preferences.getInstance().getLibraryExplorerOpenRowKeys();
         if (!openRowKeys.isEmpty()) {
-            mTreePanel.setOpen(true, collectRowsToOpen(root, new HashSet<>(openRowKeys), null));
+            mPendingOpenRowKeys = new HashSet<>(openRowKeys);
         }
+        refresh();
     }
 
     public void savePreferences() {
@@ -171,16 +179,60 @@ public class LibraryExplorerDockable extends Dockable implements SearchTarget, F
         }
     }
 
+    /**
+     * Rescans the libraries in the background. The tree for each library is replaced as its scan
+     * completes; until then, the previous contents remain on display.
+     */
     public void refresh() {
-        TreeRoot    root     = mTreePanel.getRoot();
+        int           generation = ++mScanGeneration;
+        List<Library> libraries  = new ArrayList<>(Library.LIBRARIES);
+        mPendingScans = libraries.size();
+        updateLibraryRows(libraries);
+        LibraryUpdater.collectFiles(libraries, (files, index) -> {
+            if (generation == mScanGeneration) {
+                replaceLibraryRow(index, files);
+                if (--mPendingScans == 0) {
+                    mPendingOpenRowKeys = null;
+                }
+            }
+        });
+    }
+
+    /** Makes the top-level rows match the libraries, keeping existing rows for known libraries. */
+    private void updateLibraryRows(List<Library> libraries) {
+        TreeRoot             root     = mTreePanel.getRoot();
+        Map<String, TreeRow> existing = new HashMap<>();
+        for (TreeRow row : root.getChildren()) {
+            existing.put(((LibraryExplorerRow) row).getName(), row);
+        }
+        List<TreeRow> rows = new ArrayList<>();
+        for (Library library : libraries) {
+            TreeRow row = existing.remove(library.getTitle());
+            rows.add(row != null ? row : new LibraryDirectoryRow(library.getTitle()));
+        }
+        if (!rows.equals(root.getChildren())) {
+            mNotifier.startBatch();
+            root.removeRow(new ArrayList<>(root.getChildren()));
+            root.addRow(rows);
+            mNotifier.endBatch();
+        }
+    }
+
+    private void replaceLibraryRow(int index, List<Object> files) {
+        TreeRoot root = mTreePanel.getRoot();
+        if (index >= root.getChildCount()) {
+            return;
+        }
         Set<String> selected = new HashSet<>();
         for (TreeRow row : mTreePanel.getExplicitlySelectedRows()) {
             selected.add(((LibraryExplorerRow) row).getSelectionKey());
         }
-        Set<String> open = collectOpenRowKeys();
+        Set<String>         open = collectOpenRowKeys();
+        LibraryDirectoryRow dir  = new LibraryDirectoryRow((String) files.get(0));
+        fillTree(files, dir);
         mNotifier.startBatch();
-        root.removeRow(new ArrayList<>(root.getChildren()));
-        fillTree(LibraryUpdater.collectFiles(), root);
+        root.removeRow(root.getChild(index));
+        root.addRow(index, dir);
         mNotifier.endBatch();
         mTreePanel.setOpen(true, collectRowsToOpen(root, open, null));
         mTreePanel.select(collectRows(root, selected, null));
@@ -188,6 +240,10 @@ public class LibraryExplorerDockable extends Dockable implements SearchTarget, F
 
     private Set<String> collectOpenRowKeys() {
         Set<String> open = new HashSet<>();
+        if (mPendingOpenRowKeys != null) {
+            // Rows restored from the preferences that haven't been scanned yet
+            open.addAll(mPendingOpenRowKeys);
+        }
         for (TreeRow row : new TreeRowViewIterator(mTreePanel, mTreePanel.getRoot().getChildren())) {
             if (row instanceof TreeContainerRow && mTreePanel.isOpen((TreeContainerRow) row) && row instanceof LibraryExplorerRow) {
                 open.add(((LibraryExplorerRow) row).getSelectionKey());
@@ -275,32 +331,28 @@ public class LibraryExplorerDockable extends Dockable implements SearchTarget, F
     }
 
     public FileProxy open(Path path) {
+        return open(path, null);
+    }
+
+    /**
+     * Opens a data file, unless a dockable for its path is already open, in which case that one is
+     * brought forward instead.
+     *
+     * @param path The path to open.
+     * @param m    The data previously read from the path with {@link DataFile#readJSON(Path)}, or
+     *             {@code null} to read it now.
+     * @return The {@link FileProxy} for the data file, or {@code null} if it could not be opened.
+     */
+    public FileProxy open(Path path, JsonMap m) {
         // See if it is already open
         FileProxy proxy = (FileProxy) getDockableFor(path);
         if (proxy == null) {
             // If it wasn't, load it and put it into the dock
             try {
-                String ext = PathUtils.getExtension(path);
-                if (FileType.ADVANTAGE.matchExtension(ext)) {
-                    proxy = openAdvantageList(path);
-                } else if (FileType.ADVANTAGE_MODIFIER.matchExtension(ext)) {
-                    proxy = openAdvantageModifierList(path);
-                } else if (FileType.EQUIPMENT.matchExtension(ext)) {
-                    proxy = openEquipmentList(path);
-                } else if (FileType.EQUIPMENT_MODIFIER.matchExtension(ext)) {
-                    proxy = openEquipmentModifierList(path);
-                } else if (FileType.SKILL.matchExtension(ext)) {
-                    proxy = openSkillList(path);
-                } else if (FileType.SPELL.matchExtension(ext)) {
-                    proxy = openSpellList(path);
-                } else if (FileType.NOTE.matchExtension(ext)) {
-                    proxy = openNoteList(path);
-                } else if (FileType.SHEET.matchExtension(ext)) {
-                    proxy = dockSheet(new SheetDockable(new GURPSCharacter(path)));
-                } else if (FileType.TEMPLATE.matchExtension(ext)) {
-                    proxy = dockTemplate(new TemplateDockable(new Template(path)));
-                } else if (FileType.PDF.matchExtension(ext)) {
+                if (FileType.PDF.matchExtension(PathUtils.getExtension(path))) {
                     PDFServer.showPDF(path, 0);
+                } else {
+                    proxy = dock(load(path, m));
                 }
             } catch (Throwable throwable) {
                 StdFileDialog.showCannotOpenMsg(this, PathUtils.getLeafName(path, true), throwable);
@@ -319,53 +371,77 @@ public class LibraryExplorerDockable extends Dockable implements SearchTarget, F
         return proxy;
     }
 
-    private FileProxy openAdvantageList(Path path) throws IOException {
-        AdvantageList list = new AdvantageList();
-        list.load(path);
-        list.getModel().setLocked(true);
-        return dockLibrary(new AdvantagesDockable(list));
-    }
-
-    private FileProxy openAdvantageModifierList(Path path) throws IOException {
-        AdvantageModifierList list = new AdvantageModifierList();
-        list.load(path);
-        list.getModel().setLocked(true);
-        return dockLibrary(new AdvantageModifiersDockable(list));
-    }
-
-    private FileProxy openEquipmentList(Path path) throws IOException {
-        EquipmentList list = new EquipmentList();
-        list.load(path);
-        list.getModel().setLocked(true);
-        return dockLibrary(new EquipmentDockable(list));
-    }
-
-    private FileProxy openEquipmentModifierList(Path path) throws IOException {
-        EquipmentModifierList list = new EquipmentModifierList();
-        list.load(path);
-        list.getModel().setLocked(true);
-        return dockLibrary(new EquipmentModifiersDockable(list));
-    }
-
-    private FileProxy openSkillList(Path path) throws IOException {
-        SkillList list = new SkillList();
-        list.load(path);
-        list.getModel().setLocked(true);
-        return dockLibrary(new SkillsDockable(list));
-    }
-
-    private FileProxy openSpellList(Path path) throws IOException {
-        SpellList list = new SpellList();
-        list.load(path);
-        list.getModel().setLocked(true);
-        return dockLibrary(new SpellsDockable(list));
+    /**
+     * Loads a data file. Only {@link DataFile#readJSON(Path)} is safe to call off the UI thread;
+     * building the model reaches into preferences and other shared state that is only ever
+     * touched from the UI thread, so this must be called on it.
+     *
+     * @param path The path to load.
+     * @param m    The data previously read from the path, or {@code null} to read it now.
+     * @return The loaded data file, or {@code null} if the file is not a type that can be loaded
+     *         into a dockable.
+     * @throws IOException if the data is not valid.
+     */
+    private static DataFile load(Path path, JsonMap m) throws IOException {
+        String   ext = PathUtils.getExtension(path);
+        DataFile dataFile;
+        if (FileType.ADVANTAGE.matchExtension(ext)) {
+            dataFile = new AdvantageList();
+        } else if (FileType.ADVANTAGE_MODIFIER.matchExtension(ext)) {
+            dataFile = new AdvantageModifierList();
+        } else if (FileType.EQUIPMENT.matchExtension(ext)) {
+            dataFile = new EquipmentList();
+        } else if (FileType.EQUIPMENT_MODIFIER.matchExtension(ext)) {
+            dataFile = new EquipmentModifierList();
+        } else if (FileType.SKILL.matchExtension(ext)) {
+            dataFile = new SkillList();
+        } else if (FileType.SPELL.matchExtension(ext)) {
+            dataFile = new SpellList();
+        } else if (FileType.NOTE.matchExtension(ext)) {
+            dataFile = new NoteList();
+        } else if (FileType.SHEET.matchExtension(ext)) {
+            dataFile = new GURPSCharacter();
+        } else if (FileType.TEMPLATE.matchExtension(ext)) {
+            dataFile = new Template();
+        } else {
+            return null;
+        }
+        dataFile.load(path, m != null ? m : DataFile.readJSON(path));
+        if (dataFile instanceof ListFile) {
+            ((ListFile) dataFile).getModel().setLocked(true);
+        }
+        return dataFile;
     }
 
-    private FileProxy openNoteList(Path path) throws IOException {
-        NoteList list = new NoteList();
-        list.load(path);
-        list.getModel().setLocked(true);
-        return dockLibrary(new NotesDockable(list));
+    private FileProxy dock(DataFile dataFile) {
+        if (dataFile instanceof AdvantageList) {
+            return dockLibrary(new AdvantagesDockable((AdvantageList) dataFile));
+        }
+        if (dataFile instanceof AdvantageModifierList) {
+            return dockLibrary(new AdvantageModifiersDockable((AdvantageModifierList) dataFile));
+        }
+        if (dataFile instanceof EquipmentList) {
+            return dockLibrary(new EquipmentDockable((EquipmentList) dataFile));
+        }
+        if (dataFile instanceof EquipmentModifierList) {
+            return dockLibrary(new EquipmentModifiersDockable((EquipmentModifierList) dataFile));
+        }
+        if (dataFile instanceof SkillList) {
+            return dockLibrary(new SkillsDockable((SkillList) dataFile));
+        }
+        if (dataFile instanceof SpellList) {
+            return dockLibrary(new SpellsDockable((SpellList) dataFile));
+        }
+        if (dataFile instanceof NoteList) {
+            return dockLibrary(new NotesDockable((NoteList) dataFile));
+        }
+        if (dataFile instanceof GURPSCharacter) {
+            return dockSheet(new SheetDockable((GURPSCharacter) dataFile));
+        }
+        if (dataFile instanceof Template) {
+            return dockTemplate(new TemplateDockable((Template) dataFile));
+        }
+        return null;
     }
 
     /**
@@ -19,22 +19,23 @@ import com.trollworks.gcs.ui.widget.Workspace;
 import com.trollworks.gcs.ui.widget.dock.Dockable;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Log;
-import com.trollworks.gcs.utility.RecursiveDirectoryRemover;
 import com.trollworks.gcs.utility.Release;
 
 import java.awt.BorderLayout;
 import java.awt.EventQueue;
 import java.awt.GraphicsEnvironment;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.function.ObjIntConsumer;
 import javax.swing.JComponent;
 import javax.swing.JDialog;
 import javax.swing.JLabel;
@@ -44,38 +45,66 @@ import javax.swing.WindowConstants;
 import javax.swing.border.CompoundBorder;
 
 public class LibraryUpdater implements Runnable {
-    private static final ExecutorService QUEUE = Executors.newSingleThreadExecutor();
+    private static final ExecutorService QUEUE    = Executors.newSingleThreadExecutor();
+    private static final ExecutorService SCANNERS = Executors.newCachedThreadPool(LibraryUpdater::createScannerThread);
     private              String          mResult;
     private              JDialog         mDialog;
     private              Library         mLibrary;
     private              Release         mRelease;
     private              boolean         mUpdateComplete;
 
-    public static List<Object> collectFiles() {
-        FutureTask<List<Object>> task = new FutureTask<>(() -> {
-            Set<Path>    dirs = new HashSet<>();
-            List<Object> list = new ArrayList<>();
-            list.add("GCS");
-            for (Library library : Library.LIBRARIES) {
-                list.add(LibraryCollector.list(library.getTitle(), library.getPath(), dirs));
+    /**
+     * Scans libraries for files on background threads, one per library. Any library update that
+     * is in progress is allowed to finish first. Directory listings cached for any other library
+     * are discarded.
+     *
+     * @param libraries The libraries to scan.
+     * @param consumer  Called on the UI thread as the scan of each library completes, with the tree
+     *                  of files found and the index of the library. If a scan fails, the tree
+     *                  holds just the library's title.
+     */
+    public static void collectFiles(List<Library> libraries, ObjIntConsumer<List<Object>> consumer) {
+        QUEUE.submit(() -> {
+            Set<Path>       dirs  = ConcurrentHashMap.newKeySet();
+            List<Future<?>> scans = new ArrayList<>();
+            int             count = libraries.size();
+            for (int i = 0; i < count; i++) {
+                int     index   = i;
+                Library library = libraries.get(i);
+                scans.add(SCANNERS.submit(() -> {
+                    List<Object> files;
+                    try {
+                        files = LibraryCollector.list(library.getTitle(), library.getPath(), dirs);
+                    } catch (Throwable throwable) {
+                        Log.error(throwable);
+                        // The consumer must still hear about every library, so hand it an empty tree
+                        files = new ArrayList<>();
+                        files.add(library.getTitle());
+                    }
+                    List<Object> result = files;
+                    EventQueue.invokeLater(() -> consumer.accept(result, index));
+                }));
+            }
+            for (Future<?> scan : scans) {
+                try {
+                    scan.get();
+                } catch (Exception exception) {
+                    Log.error(exception);
+                }
+            }
+            List<Path> roots = new ArrayList<>();
+            for (Library library : libraries) {
+                roots.add(library.getPath());
             }
+            LibraryCollector.retainListings(roots);
             LibraryWatcher.INSTANCE.watchDirs(dirs);
-            return list;
         });
-        QUEUE.submit(task);
-        try {
-            return task.get();
-        } catch (Exception exception) {
-            Log.error(exception);
-            List<Object> list   = new ArrayList<>();
-            List<Object> master = new ArrayList<>();
-            List<Object> user   = new ArrayList<>();
-            master.add(Library.MASTER.getTitle());
-            list.add(master);
-            user.add(Library.USER.getTitle());
-            list.add(user);
-            return list;
-        }
+    }
+
+    private static Thread createScannerThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "Library Scanner");
+        thread.setDaemon(true);
+        return thread;
     }
 
     public static final void download(Library library, Release release) {
@@ -148,48 +177,16 @@ public class LibraryUpdater implements Runnable {
         } else {
             try {
                 LibraryWatcher.INSTANCE.watchDirs(new HashSet<>());
-                Path    root           = mLibrary.getPath();
-                boolean shouldContinue = true;
-                Path    saveRoot       = root.resolveSibling(root.getFileName() + ".save");
-                if (Files.exists(root)) {
-                    try {
-                        Files.move(root, saveRoot);
-                    } catch (IOException exception) {
-                        shouldContinue = false;
-                        Log.error(exception);
-                        mResult = exception.getMessage();
-                        if (mResult == null) {
-                            mResult = "exception";
-                        }
-                    }
-                }
-                if (shouldContinue) {
-                    try {
-                        mLibrary.download(mRelease);
-                    } catch (IOException exception) {
-                        Log.error(exception);
-                        mResult = exception.getMessage();
-                        if (mResult == null) {
-                            mResult = "exception";
-                        }
-                    }
+                try {
+                    mLibrary.download(mRelease);
+                } catch (IOException exception) {
+                    Log.error(exception);
+                    mResult = exception.getMessage();
                     if (mResult == null) {
-                        if (Files.exists(saveRoot)) {
-                            RecursiveDirectoryRemover.remove(saveRoot, true);
-                        }
-                    } else {
-                        RecursiveDirectoryRemover.remove(root, true);
-                        if (Files.exists(saveRoot)) {
-                            try {
-                                Files.move(saveRoot, root);
-                            } catch (IOException exception) {
-                                Log.error(exception);
-                            }
-                        } else {
-                            mLibrary.getPath(); // will recreate the dir
-                        }
+                        mResult = "exception";
                     }
                 }
+                mLibrary.getPath(); // will recreate the dir, if needed
             } catch (Throwable throwable) {
                 Log.error(throwable);
                 if (mResult == null) {
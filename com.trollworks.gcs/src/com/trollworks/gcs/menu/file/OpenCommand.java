@@ -11,6 +11,7 @@
 
 package com.trollworks.gcs.menu.file;
 
+import com.trollworks.gcs.datafile.DataFile;
 import com.trollworks.gcs.library.LibraryExplorerDockable;
 import com.trollworks.gcs.menu.Command;
 import com.trollworks.gcs.preferences.Preferences;
@@ -19,7 +20,11 @@ import com.trollworks.gcs.utility.FileProxy;
 import com.trollworks.gcs.utility.FileType;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.PathUtils;
+import com.trollworks.gcs.utility.json.JsonMap;
+import com.trollworks.gcs.utility.task.Tasks;
 
+import java.awt.EventQueue;
 import java.awt.desktop.OpenFilesEvent;
 import java.awt.desktop.OpenFilesHandler;
 import java.awt.event.ActionEvent;
@@ -27,6 +32,8 @@ import java.awt.event.KeyEvent;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 /** Provides the "Open..." command. */
 public class OpenCommand extends Command implements OpenFilesHandler {
@@ -53,35 +60,86 @@ public class OpenCommand extends Command implements OpenFilesHandler {
     public static void open() {
         Path path = StdFileDialog.showOpenDialog(getFocusOwner(), I18n.Text("Open…"), FileType.createFileFilters(I18n.Text("All Readable Files"), FileType.ALL_OPENABLE.toArray(new FileType[0])));
         if (path != null) {
-            open(path);
+            List<Path> paths = new ArrayList<>();
+            paths.add(path);
+            openInBackground(paths);
         }
     }
 
     /** @param path The file to open. */
     public static void open(Path path) {
         if (path != null) {
-            try {
-                LibraryExplorerDockable library = LibraryExplorerDockable.get();
-                FileProxy proxy = library == null ? null : library.open(path);
-                if (proxy != null) {
-                    proxy.toFrontAndFocus();
-                    Preferences.getInstance().addRecentFile(path);
-                } else {
-                    throw new IOException(I18n.Text("unknown file extension"));
-                }
-            } catch (Exception exception) {
-                Log.error(exception);
-                StdFileDialog.showCannotOpenMsg(getFocusOwner(), path.toString(), exception);
+            open(path, null);
+        }
+    }
+
+    /**
+     * Opens a set of files. Each file is read and parsed on a background thread, so files opened
+     * together are read in parallel and the UI remains responsive. The model for each file is then
+     * built and docked on the UI thread as soon as its data has been parsed. Must be called on the
+     * UI thread.
+     *
+     * @param paths The files to open.
+     */
+    public static void openInBackground(List<Path> paths) {
+        LibraryExplorerDockable library = LibraryExplorerDockable.get();
+        for (Path path : paths) {
+            if (library == null || library.getDockableFor(path) != null || !isDataFile(path)) {
+                open(path);
+            } else {
+                Tasks.callOnBackgroundThread(() -> {
+                    try {
+                        JsonMap m = DataFile.readJSON(path);
+                        EventQueue.invokeLater(() -> open(path, m));
+                    } catch (Throwable throwable) {
+                        EventQueue.invokeLater(() -> showCannotOpen(path, throwable));
+                    }
+                });
+            }
+        }
+    }
+
+    private static boolean isDataFile(Path path) {
+        String ext = PathUtils.getExtension(path);
+        for (FileType type : FileType.OPENABLE) {
+            if (type.matchExtension(ext)) {
+                return true;
             }
         }
+        return false;
+    }
+
+    private static void open(Path path, JsonMap m) {
+        try {
+            LibraryExplorerDockable library = LibraryExplorerDockable.get();
+            toFront(path, library == null ? null : library.open(path, m));
+        } catch (Exception exception) {
+            showCannotOpen(path, exception);
+        }
+    }
+
+    private static void toFront(Path path, FileProxy proxy) throws IOException {
+        if (proxy != null) {
+            proxy.toFrontAndFocus();
+            Preferences.getInstance().addRecentFile(path);
+        } else {
+            throw new IOException(I18n.Text("unknown file extension"));
+        }
+    }
+
+    private static void showCannotOpen(Path path, Throwable throwable) {
+        Log.error(throwable);
+        StdFileDialog.showCannotOpenMsg(getFocusOwner(), path.toString(), throwable);
     }
 
     @Override
     public void openFiles(OpenFilesEvent event) {
+        List<Path> paths = new ArrayList<>();
         for (File file : event.getFiles()) {
-            // We call this rather than directly to open(Path) above to allow the file opening to be
-            // deferred until startup has finished
-            OpenDataFileCommand.open(file.toPath());
+            paths.add(file.toPath());
         }
+        // We call this rather than directly to openInBackground() above to allow the file opening
+        // to be deferred until startup has finished
+        OpenDataFileCommand.open(paths);
     }
 }
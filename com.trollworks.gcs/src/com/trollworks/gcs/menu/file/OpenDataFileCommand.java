@@ -47,6 +47,33 @@ public class OpenDataFileCommand extends Command implements Runnable {
         }
     }
 
+    /**
+     * @param paths The files to open. The data for each is loaded in parallel on background
+     *              threads.
+     */
+    public static synchronized void open(List<Path> paths) {
+        if (PASS_THROUGH) {
+            List<Path> copy = new ArrayList<>(paths);
+            if (SwingUtilities.isEventDispatchThread()) {
+                openInBackground(copy);
+            } else {
+                EventQueue.invokeLater(() -> openInBackground(copy));
+            }
+        } else {
+            if (PENDING == null) {
+                PENDING = new ArrayList<>();
+            }
+            PENDING.addAll(paths);
+        }
+    }
+
+    private static void openInBackground(List<Path> paths) {
+        OpenCommand.INSTANCE.adjust();
+        if (OpenCommand.INSTANCE.isEnabled()) {
+            OpenCommand.openInBackground(paths);
+        }
+    }
+
     /**
      * Enables the pass-through mode so that future calls to {@link #open(Path)} will no longer
      * queue files for later opening. All queued files will now be opened.
@@ -54,9 +81,7 @@ public class OpenDataFileCommand extends Command implements Runnable {
     public static synchronized void enablePassThrough() {
         PASS_THROUGH = true;
         if (PENDING != null) {
-            for (Path path : PENDING) {
-                open(path);
-            }
+            open(PENDING);
             PENDING = null;
         }
     }
@@ -11,10 +11,12 @@
 
 package com.trollworks.gcs.menu.file;
 
+import com.trollworks.gcs.datafile.SaveQueue;
 import com.trollworks.gcs.menu.Command;
 import com.trollworks.gcs.preferences.Preferences;
 import com.trollworks.gcs.ui.UIUtilities;
 import com.trollworks.gcs.ui.widget.BaseWindow;
+import com.trollworks.gcs.ui.widget.WindowUtils;
 import com.trollworks.gcs.utility.I18n;
 import com.trollworks.gcs.utility.Log;
 import com.trollworks.gcs.utility.Platform;
@@ -25,6 +27,8 @@ import java.awt.desktop.QuitHandler;
 import java.awt.desktop.QuitResponse;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
+import java.nio.file.Path;
+import java.util.List;
 
 /** Provides the "Quit"/"Exit" command. */
 public class QuitCommand extends Command implements QuitHandler {
@@ -68,20 +72,30 @@ public class QuitCommand extends Command implements QuitHandler {
                 }
             }
             mAllowQuitIfNoSignificantWindowsOpen = false;
-            if (closeFrames(false)) {
-                saveState();
+            if (closeFrames(false) && saveState()) {
                 System.exit(0);
             }
             mAllowQuitIfNoSignificantWindowsOpen = true;
         }
     }
 
-    private static void saveState() {
+    private static boolean saveState() {
+        List<Path> failed = SaveQueue.waitForPendingWrites();
+        if (!failed.isEmpty()) {
+            StringBuilder buffer = new StringBuilder(I18n.Text("The following files could not be saved, so the application will not quit:"));
+            for (Path path : failed) {
+                buffer.append('\n');
+                buffer.append(path);
+            }
+            WindowUtils.showError(null, buffer.toString());
+            return false;
+        }
         try {
             Preferences.getInstance().save();
         } catch (Exception exception) {
             Log.error(exception);
         }
+        return true;
     }
 
     private static boolean closeFrames(boolean significant) {
@@ -104,8 +118,7 @@ public class QuitCommand extends Command implements QuitHandler {
         if (!UIUtilities.inModalState()) {
             mAllowQuitIfNoSignificantWindowsOpen = false;
             if (closeFrames(true)) {
-                if (closeFrames(false)) {
-                    saveState();
+                if (closeFrames(false) && saveState()) {
                     response.performQuit();
                     return;
                 }
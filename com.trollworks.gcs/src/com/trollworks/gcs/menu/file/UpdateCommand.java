@@ -11,6 +11,7 @@
 
 package com.trollworks.gcs.menu.file;
 
+import com.trollworks.gcs.character.CollectedOutlinesDockable;
 import com.trollworks.gcs.datafile.DataFileDockable;
 import com.trollworks.gcs.library.DataUpdater;
 import com.trollworks.gcs.menu.Command;
@@ -37,7 +38,8 @@ public class UpdateCommand extends Command {
 
     @Override
     public void actionPerformed(ActionEvent event) {
-        if (getTarget(DataFileDockable.class) != null) {
+        DataFileDockable dockable = getTarget(DataFileDockable.class);
+        if (dockable != null) {
             try {
                 long        start   = System.currentTimeMillis();
                 DataUpdater du      = new DataUpdater();
@@ -53,6 +55,9 @@ public class UpdateCommand extends Command {
                         System.out.println("    " + p);
                     }
                 }
+                if (dockable instanceof CollectedOutlinesDockable) {
+                    ((CollectedOutlinesDockable) dockable).updateFromLibrary(du);
+                }
             } catch (Exception ex) {
                 Log.error(ex);
             }
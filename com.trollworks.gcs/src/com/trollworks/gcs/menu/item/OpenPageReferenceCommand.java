@@ -13,6 +13,7 @@ package com.trollworks.gcs.menu.item;
 
 import com.trollworks.gcs.datafile.PageRefCell;
 import com.trollworks.gcs.menu.Command;
+import com.trollworks.gcs.pdfview.PDFIndexer;
 import com.trollworks.gcs.pdfview.PDFRef;
 import com.trollworks.gcs.pdfview.PDFServer;
 import com.trollworks.gcs.preferences.Preferences;
@@ -114,6 +115,7 @@ public class OpenPageReferenceCommand extends Command {
                 if (path != null) {
                     ref = new PDFRef(id, path, 0);
                     prefs.putPdfRef(ref);
+                    PDFIndexer.update(path);
                 }
             }
             if (ref != null) {
@@ -165,6 +167,11 @@ public class OpenPageReferenceCommand extends Command {
                     }
                 }
             }
+            if (list.isEmpty()) {
+                // No reference was provided, so fall back to the first page of the indexed PDFs
+                // that mentions it
+                list = PDFIndexer.findReferences(ref.getReferenceHighlight(), 1);
+            }
         }
         return list;
     }
@@ -11,6 +11,7 @@
 
 package com.trollworks.gcs.modifier;
 
+import com.trollworks.gcs.advantage.Advantage;
 import com.trollworks.gcs.character.GURPSCharacter;
 import com.trollworks.gcs.datafile.DataFile;
 import com.trollworks.gcs.datafile.LoadState;
@@ -56,6 +57,7 @@ public class AdvantageModifier extends Modifier {
     private              double                    mCostMultiplier;
     private              int                       mLevels;
     private              Affects                   mAffects;
+    private              Advantage                 mAdvantage;
 
     /**
      * Creates a new {@link AdvantageModifier}.
@@ -351,6 +353,22 @@ public class AdvantageModifier extends Modifier {
         return false;
     }
 
+    /**
+     * @param advantage The advantage this modifier belongs to. It will be told whenever this
+     *                  modifier changes, so that it can discard its cached point cost.
+     */
+    public void setAdvantage(Advantage advantage) {
+        mAdvantage = advantage;
+    }
+
+    @Override
+    protected void invalidateCachedValues() {
+        super.invalidateCachedValues();
+        if (mAdvantage != null) {
+            mAdvantage.invalidateAdjustedPoints();
+        }
+    }
+
     @Override
     protected String getCategoryID() {
         return ID_CATEGORY;
@@ -21,6 +21,7 @@ import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.json.JsonWriter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -179,11 +180,9 @@ public abstract class Modifier extends ListRow implements Comparable<Modifier>,
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getName().toLowerCase().contains(text)) {
-            return true;
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void collectSearchableText(List<String> fields) {
+        fields.add(getName());
+        super.collectSearchableText(fields);
     }
 
     @Override
@@ -27,6 +27,7 @@ import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.json.JsonWriter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -173,11 +174,9 @@ public class Note extends ListRow implements HasSourceReference {
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getDescription().toLowerCase().contains(text)) {
-            return true;
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void collectSearchableText(List<String> fields) {
+        fields.add(getDescription());
+        super.collectSearchableText(fields);
     }
 
     @Override
@@ -235,6 +234,12 @@ public class Note extends ListRow implements HasSourceReference {
         return false;
     }
 
+    @Override
+    public void updateFromLibrary(ListRow source, String hash) {
+        super.updateFromLibrary(source, hash);
+        setReference(((Note) source).mReference);
+    }
+
     @Override
     public String getToolTip(Column column) {
         return NoteColumn.values()[column.getID()].getToolTip(this);
@@ -0,0 +1,268 @@
+/*
+ * Copyright ©1998-2020 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.pdfview;
+
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.RandomAccessFileOrArray;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import com.trollworks.gcs.utility.SafeFileUpdater;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/** An inverted index of the words on each page of a PDF. */
+public class PDFIndex {
+    private static final int                MAGIC           = 0x47435349; // GCSI
+    private static final int                VERSION         = 1;
+    private static final int                MIN_TERM_LENGTH = 2;
+    private static final int                MAX_TERM_LENGTH = 64;
+    private              Path               mPath;
+    private              long               mSize;
+    private              long               mModified;
+    private              int                mPageCount;
+    private              Map<String, int[]> mTerms;
+
+    private PDFIndex(Path path, long size, long modified, int pageCount, Map<String, int[]> terms) {
+        mPath = path;
+        mSize = size;
+        mModified = modified;
+        mPageCount = pageCount;
+        mTerms = terms;
+    }
+
+    /**
+     * Extracts the text of every page of a PDF and indexes it.
+     *
+     * @param path  The PDF to index.
+     * @param attrs The attributes of the PDF.
+     * @return The new index.
+     */
+    public static PDFIndex build(Path path, BasicFileAttributes attrs) throws IOException {
+        Map<String, List<Integer>> pages = new HashMap<>();
+        int                        pageCount;
+        PdfReader                  reader = new PdfReader(new RandomAccessFileOrArray(path.toString(), false, true), null);
+        try {
+            PdfTextExtractor extractor = new PdfTextExtractor(reader);
+            pageCount = reader.getNumberOfPages();
+            for (int page = 1; page <= pageCount; page++) {
+                String text;
+                try {
+                    text = extractor.getTextFromPage(page);
+                } catch (Exception exception) {
+                    // Pages whose content can't be parsed are simply left out of the index
+                    continue;
+                }
+                Integer pageNumber = Integer.valueOf(page);
+                tokenize(text, term -> {
+                    List<Integer> list = pages.computeIfAbsent(term, k -> new ArrayList<>());
+                    if (list.isEmpty() || !list.get(list.size() - 1).equals(pageNumber)) {
+                        list.add(pageNumber);
+                    }
+                });
+            }
+        } finally {
+            reader.close();
+        }
+        Map<String, int[]> terms = new HashMap<>(pages.size());
+        for (Map.Entry<String, List<Integer>> entry : pages.entrySet()) {
+            List<Integer> list  = entry.getValue();
+            int[]         array = new int[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = list.get(i).intValue();
+            }
+            terms.put(entry.getKey(), array);
+        }
+        return new PDFIndex(path, attrs.size(), attrs.lastModifiedTime().toMillis(), pageCount, terms);
+    }
+
+    /**
+     * Loads a previously saved index.
+     *
+     * @param indexFile The file the index was saved to.
+     * @param path      The PDF the index should be for.
+     * @param attrs     The current attributes of the PDF.
+     * @return The index, or {@code null} if the file holds an index for a different path or for an
+     *         older version of the PDF.
+     */
+    public static PDFIndex read(Path indexFile, Path path, BasicFileAttributes attrs) throws IOException {
+        try (InputStream in = Files.newInputStream(indexFile); DataInputStream data = new DataInputStream(new BufferedInputStream(new GZIPInputStream(in)))) {
+            if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+                return null;
+            }
+            long size     = data.readLong();
+            long modified = data.readLong();
+            if (!path.toString().equals(data.readUTF()) || size != attrs.size() || modified != attrs.lastModifiedTime().toMillis()) {
+                return null;
+            }
+            int                pageCount = data.readInt();
+            int                termCount = data.readInt();
+            Map<String, int[]> terms     = new HashMap<>(termCount);
+            for (int i = 0; i < termCount; i++) {
+                String term  = data.readUTF();
+                int[]  pages = new int[readVarInt(data)];
+                int    page  = 0;
+                for (int j = 0; j < pages.length; j++) {
+                    page += readVarInt(data);
+                    pages[j] = page;
+                }
+                terms.put(term, pages);
+            }
+            return new PDFIndex(path, size, modified, pageCount, terms);
+        }
+    }
+
+    /**
+     * Saves the index. Page lists are delta-encoded and the whole file is compressed.
+     *
+     * @param indexFile The file to save the index to.
+     */
+    public void write(Path indexFile) throws IOException {
+        SafeFileUpdater transaction = new SafeFileUpdater();
+        transaction.begin();
+        try {
+            File file = transaction.getTransactionFile(indexFile.toFile());
+            try (DataOutputStream data = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))))) {
+                data.writeInt(MAGIC);
+                data.writeInt(VERSION);
+                data.writeLong(mSize);
+                data.writeLong(mModified);
+                data.writeUTF(mPath.toString());
+                data.writeInt(mPageCount);
+                data.writeInt(mTerms.size());
+                for (Map.Entry<String, int[]> entry : mTerms.entrySet()) {
+                    data.writeUTF(entry.getKey());
+                    int[] pages = entry.getValue();
+                    writeVarInt(data, pages.length);
+                    int last = 0;
+                    for (int page : pages) {
+                        writeVarInt(data, page - last);
+                        last = page;
+                    }
+                }
+            }
+            transaction.commit();
+        } catch (IOException exception) {
+            transaction.abort();
+            throw exception;
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream data, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            data.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream data) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = data.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * @param attrs The current attributes of the PDF.
+     * @return Whether this index still reflects the PDF.
+     */
+    public boolean isCurrent(BasicFileAttributes attrs) {
+        return mSize == attrs.size() && mModified == attrs.lastModifiedTime().toMillis();
+    }
+
+    /** @return The number of pages in the PDF. */
+    public int getPageCount() {
+        return mPageCount;
+    }
+
+    /**
+     * @param text The text to search for.
+     * @return The pages, in ascending order, that contain every word in the text. Pages are
+     *         numbered from 1.
+     */
+    public int[] findPages(String text) {
+        List<String> words = new ArrayList<>();
+        tokenize(text, words::add);
+        int[] result = null;
+        for (String word : words) {
+            int[] pages = mTerms.get(word);
+            if (pages == null) {
+                return new int[0];
+            }
+            result = result == null ? pages : intersect(result, pages);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result != null ? result.clone() : new int[0];
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int   count  = 0;
+        int   i      = 0;
+        int   j      = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static void tokenize(String text, Consumer<String> consumer) {
+        int length = text.length();
+        int start  = -1;
+        for (int i = 0; i <= length; i++) {
+            if (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                if (start == -1) {
+                    start = i;
+                }
+            } else if (start != -1) {
+                int termLength = i - start;
+                if (termLength >= MIN_TERM_LENGTH && termLength <= MAX_TERM_LENGTH) {
+                    consumer.accept(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright ©1998-2020 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.pdfview;
+
+import com.trollworks.gcs.preferences.Preferences;
+import com.trollworks.gcs.utility.Log;
+import com.trollworks.gcs.utility.Platform;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Maintains full-text indexes of the PDFs that page references point to. Indexes are built on a
+ * low-priority background thread and saved to disk, so each PDF only has to be processed again
+ * once its size or modification time changes.
+ */
+public final class PDFIndexer {
+    private static final ExecutorService     EXECUTOR = Executors.newSingleThreadExecutor(PDFIndexer::createThread);
+    private static final Map<Path, PDFIndex> INDEXES  = new ConcurrentHashMap<>();
+    private static final Set<Path>           QUEUED   = ConcurrentHashMap.newKeySet();
+
+    private PDFIndexer() {
+    }
+
+    private static Thread createThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "PDF Indexer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    }
+
+    /** Brings the indexes of all PDFs referenced from the preferences up to date. */
+    public static void update() {
+        for (PDFRef ref : Preferences.getInstance().allPdfRefs(true)) {
+            update(ref.getPath());
+        }
+    }
+
+    /**
+     * Brings the index of a PDF up to date.
+     *
+     * @param path The PDF to index.
+     */
+    public static void update(Path path) {
+        if (QUEUED.add(path)) {
+            EXECUTOR.execute(() -> {
+                QUEUED.remove(path);
+                index(path);
+            });
+        }
+    }
+
+    private static void index(Path path) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            PDFIndex            index = INDEXES.get(path);
+            if (index != null && index.isCurrent(attrs)) {
+                return;
+            }
+            Path indexFile = getIndexFile(path);
+            if (Files.isRegularFile(indexFile)) {
+                try {
+                    index = PDFIndex.read(indexFile, path, attrs);
+                } catch (IOException ioe) {
+                    index = null; // A damaged index is simply rebuilt
+                }
+            } else {
+                index = null;
+            }
+            if (index == null) {
+                index = PDFIndex.build(path, attrs);
+                Files.createDirectories(indexFile.getParent());
+                index.write(indexFile);
+            }
+            INDEXES.put(path, index);
+        } catch (Exception exception) {
+            Log.warn("unable to index " + path, exception);
+        }
+    }
+
+    private static Path getIndexFile(Path path) {
+        return Platform.getCacheDir().resolve("pdf_index").resolve(UUID.nameUUIDFromBytes(path.toString().getBytes(StandardCharsets.UTF_8)) + ".idx");
+    }
+
+    /**
+     * Searches the PDFs that have been indexed so far. PDFs that are still being indexed are not
+     * waited for.
+     *
+     * @param text  The text to search for.
+     * @param limit The maximum number of references to return.
+     * @return Page references, in the same form as those stored on rows, for each page containing
+     *         every word in the text.
+     */
+    public static List<String> findReferences(String text, int limit) {
+        List<String> list = new ArrayList<>();
+        if (text != null && !text.isBlank()) {
+            for (PDFRef ref : Preferences.getInstance().allPdfRefs(false)) {
+                PDFIndex index = INDEXES.get(ref.getPath());
+                if (index != null) {
+                    for (int page : index.findPages(text)) {
+                        int symbolicPage = page - ref.getPageToIndexOffset();
+                        if (symbolicPage > 0) {
+                            list.add(ref.getID() + symbolicPage);
+                            if (list.size() >= limit) {
+                                return list;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return list;
+    }
+}
@@ -27,30 +27,43 @@ import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executors;
 
 public final class PDFServer {
     private static       HttpServer          SERVER;
     private static final DateTimeFormatter   DATE_TIME_FORMATTER    = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss z", Locale.ENGLISH).withZone(ZoneId.of("GMT"));
     private static final Instant             RESOURCE_LAST_MODIFIED = Instant.now();
     private static final Map<String, byte[]> CACHE                  = new HashMap<>();
+    private static final int                 WORKER_COUNT           = 4;
     private static       int                 PORT;
 
     private PDFServer() {
     }
 
+    private static Thread createWorker(Runnable runnable) {
+        Thread thread = new Thread(runnable, "PDF Server");
+        thread.setDaemon(true);
+        return thread;
+    }
+
     public static synchronized void showPDF(Path path, int page) throws IOException, URISyntaxException {
         if (SERVER == null) {
             HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
             server.createContext("/", PDFServer::handleRequest);
+            server.setExecutor(Executors.newFixedThreadPool(WORKER_COUNT, PDFServer::createWorker));
             server.start();
             SERVER = server;
             PORT = server.getAddress().getPort();
@@ -100,18 +113,40 @@ public final class PDFServer {
                     notFound(httpExchange);
                     return;
                 }
-                int expiresInSeconds = 12 * 60 * 60; // 12 hours
+                long[] range = parseRange(httpExchange.getRequestHeaders().getFirst("Range"), size);
+                if (range != null && range.length == 0) {
+                    httpExchange.getResponseHeaders().add("Content-Range", "bytes */" + size);
+                    respond(httpExchange, 416, null);
+                    return;
+                }
+                long start            = range != null ? range[0] : 0;
+                long length           = range != null ? range[1] - range[0] + 1 : size;
+                int  expiresInSeconds = 12 * 60 * 60; // 12 hours
                 httpExchange.getResponseHeaders().add("Content-Type", contentType);
-                httpExchange.getResponseHeaders().add("Content-Length", Long.toString(size));
+                httpExchange.getResponseHeaders().add("Content-Length", Long.toString(length));
+                httpExchange.getResponseHeaders().add("Accept-Ranges", "bytes");
+                if (range != null) {
+                    httpExchange.getResponseHeaders().add("Content-Range", "bytes " + range[0] + "-" + range[1] + "/" + size);
+                }
                 httpExchange.getResponseHeaders().add("Last-Modified", DATE_TIME_FORMATTER.format(instant));
                 httpExchange.getResponseHeaders().add("Expires", DATE_TIME_FORMATTER.format(Instant.now().plusSeconds(expiresInSeconds)));
                 httpExchange.getResponseHeaders().add("Cache-Control", "max-age=" + expiresInSeconds);
-                httpExchange.sendResponseHeaders(200, size);
+                int code = range != null ? 206 : 200;
                 if ("HEAD".equals(httpExchange.getRequestMethod())) {
+                    httpExchange.sendResponseHeaders(code, -1);
                     httpExchange.getResponseBody().close();
                 } else {
-                    try (OutputStream out = httpExchange.getResponseBody()) {
-                        Files.copy(p, out);
+                    httpExchange.sendResponseHeaders(code, length);
+                    try (FileChannel in = FileChannel.open(p, StandardOpenOption.READ); OutputStream out = httpExchange.getResponseBody()) {
+                        WritableByteChannel channel = Channels.newChannel(out);
+                        while (length > 0) {
+                            long amt = in.transferTo(start, length, channel);
+                            if (amt <= 0) {
+                                break;
+                            }
+                            start += amt;
+                            length -= amt;
+                        }
                     }
                 }
                 return;
@@ -159,6 +194,56 @@ public final class PDFServer {
         }
     }
 
+    /**
+     * @param header The value of the Range header. May be {@code null}.
+     * @param size   The size of the file.
+     * @return {@code null} if the whole file should be sent, an empty array if the requested range
+     *         cannot be satisfied, or the first and last byte positions (inclusive) to send.
+     */
+    private static long[] parseRange(String header, long size) {
+        if (header == null || !header.startsWith("bytes=")) {
+            return null;
+        }
+        String spec = header.substring(6).trim();
+        if (spec.indexOf(',') != -1) {
+            // Multiple ranges aren't supported; sending the whole file is a valid response to them
+            return null;
+        }
+        int dash = spec.indexOf('-');
+        if (dash == -1) {
+            return null;
+        }
+        try {
+            long   start;
+            long   end;
+            String first = spec.substring(0, dash).trim();
+            String last  = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range, i.e. the last N bytes
+                long count = Long.parseLong(last);
+                if (count <= 0) {
+                    return new long[0];
+                }
+                start = Math.max(size - count, 0);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+                if (start < 0 || end < start) {
+                    // Syntactically invalid, so the header is ignored
+                    return null;
+                }
+                end = Math.min(end, size - 1);
+            }
+            if (start >= size) {
+                return new long[0];
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException nfe) {
+            return null;
+        }
+    }
+
     private static String encodeQueryParam(String str) {
         StringBuilder buffer = new StringBuilder();
         byte[]        bytes  = str.getBytes(StandardCharsets.UTF_8);
@@ -209,9 +294,9 @@ public final class PDFServer {
         int     size   = body != null ? body.length : 0;
         if (isHead) {
             httpExchange.getResponseHeaders().add("Content-Length", Integer.toString(size));
-            size = -1;
         }
-        httpExchange.sendResponseHeaders(code, size);
+        // A length of 0 asks for a chunked body of unknown length, while -1 means there is no body
+        httpExchange.sendResponseHeaders(code, isHead || size == 0 ? -1 : size);
         try (OutputStream out = httpExchange.getResponseBody()) {
             if (!isHead && body != null) {
                 out.write(body);
@@ -42,6 +42,7 @@ public class OutputPreferences extends PreferencePanel implements ActionListener
     private              JButton           mGurpsCalculatorLink;
     private              JTextField        mGurpsCalculatorKey;
     private              JCheckBox         mUseNativePrinter;
+    private              JCheckBox         mCompactPDF;
 
     /**
      * Creates a new {@link OutputPreferences}.
@@ -62,6 +63,8 @@ public class OutputPreferences extends PreferencePanel implements ActionListener
         mPNGResolutionCombo = addPNGResolutionPopup();
 
         mUseNativePrinter = addCheckBox(I18n.Text("Use platform native print dialogs (settings cannot be saved)"), I18n.Text("<html><body>Whether or not the native print dialogs should be used.<br>Choosing this option will prevent the program from saving<br>and restoring print settings with the document.</body></html>"), prefs.useNativePrintDialogs());
+
+        mCompactPDF = addCheckBox(I18n.Text("Save smaller PDF files (requires PDF 1.5 or later to view)"), I18n.Text("<html><body>Whether or not PDF files should be saved using object and<br>cross-reference streams, with duplicate graphics states merged.</body></html>"), prefs.useCompactPDF());
     }
 
     private void addLabel(String text, String tooltip) {
@@ -146,6 +149,7 @@ public class OutputPreferences extends PreferencePanel implements ActionListener
             }
         }
         mUseNativePrinter.setSelected(false);
+        mCompactPDF.setSelected(Preferences.DEFAULT_COMPACT_PDF);
     }
 
     @Override
@@ -153,6 +157,7 @@ public class OutputPreferences extends PreferencePanel implements ActionListener
         Preferences prefs      = Preferences.getInstance();
         boolean     atDefaults = prefs.getPNGResolution() == Preferences.DEFAULT_PNG_RESOLUTION;
         atDefaults = atDefaults && prefs.useNativePrintDialogs() == Preferences.DEFAULT_USE_NATIVE_PRINT_DIALOGS;
+        atDefaults = atDefaults && prefs.useCompactPDF() == Preferences.DEFAULT_COMPACT_PDF;
         atDefaults = atDefaults && mGurpsCalculatorKey.getText() != null && mGurpsCalculatorKey.getText().isEmpty();
         return atDefaults;
     }
@@ -180,6 +185,8 @@ public class OutputPreferences extends PreferencePanel implements ActionListener
         Object source = event.getSource();
         if (source == mUseNativePrinter) {
             Preferences.getInstance().setUseNativePrintDialogs(mUseNativePrinter.isSelected());
+        } else if (source == mCompactPDF) {
+            Preferences.getInstance().setUseCompactPDF(mCompactPDF.isSelected());
         }
         adjustResetButton();
     }
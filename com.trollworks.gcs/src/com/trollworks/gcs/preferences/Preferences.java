@@ -63,6 +63,7 @@ public class Preferences {
     private static final String AUTO_NAME_NEW_CHARACTERS        = "auto_name_new_characters";
     private static final String BASE_WILL_AND_PER_ON_10         = "base_will_and_per_on_10";
     private static final String BLOCK_LAYOUT                    = "block_layout";
+    private static final String COMPACT_PDF                     = "compact_pdf";
     private static final String DEFAULT_LENGTH_UNITS            = "default_length_units";
     private static final String DEFAULT_PAGE_SETTINGS           = "default_page_settings";
     private static final String DEFAULT_PLAYER_NAME             = "default_player_name";
@@ -124,6 +125,7 @@ public class Preferences {
 
     public static final boolean       DEFAULT_AUTO_NAME_NEW_CHARACTERS          = true;
     public static final boolean       DEFAULT_BASE_WILL_AND_PER_ON_10           = false;
+    public static final boolean       DEFAULT_COMPACT_PDF                       = false;
     public static final boolean       DEFAULT_INCLUDE_UNSPENT_POINTS_IN_TOTAL   = true;
     public static final int           DEFAULT_INITIAL_POINTS                    = 100;
     public static final int           DEFAULT_LIBRARY_EXPLORER_DIVIDER_POSITION = 300;
@@ -191,6 +193,7 @@ public class Preferences {
     private        boolean                          mUseSimpleMetricConversions;
     private        boolean                          mAutoNameNewCharacters;
     private        boolean                          mUseNativePrintDialogs;
+    private        boolean                          mCompactPDF;
     private        boolean                          mShowCollegeInSheetSpells;
     private        boolean                          mUseTitleInFooter;
 
@@ -202,17 +205,7 @@ public class Preferences {
     }
 
     private static Path getPreferencesPath() {
-        String homeDir = System.getProperty("user.home", ".");
-        Path   path;
-        if (Platform.isMacintosh()) {
-            path = Paths.get(homeDir, "Library", "Preferences");
-        } else if (Platform.isWindows()) {
-            String localAppData = System.getenv("LOCALAPPDATA");
-            path = localAppData != null ? Paths.get(localAppData) : Paths.get(homeDir, "AppData", "Local");
-        } else {
-            path = Paths.get(homeDir, ".config");
-        }
-        return path.resolve("gcs.json").normalize().toAbsolutePath();
+        return Platform.getSettingsDir().resolve("gcs.json");
     }
 
     private Preferences() {
@@ -257,6 +250,7 @@ public class Preferences {
         mUseSimpleMetricConversions = DEFAULT_USE_SIMPLE_METRIC_CONVERSIONS;
         mAutoNameNewCharacters = DEFAULT_AUTO_NAME_NEW_CHARACTERS;
         mUseNativePrintDialogs = DEFAULT_USE_NATIVE_PRINT_DIALOGS;
+        mCompactPDF = DEFAULT_COMPACT_PDF;
         mShowCollegeInSheetSpells = DEFAULT_SHOW_COLLEGE_IN_SHEET_SPELLS;
         mUseTitleInFooter = DEFAULT_USE_TITLE_IN_FOOTER;
         Path path = getPreferencesPath();
@@ -355,6 +349,7 @@ public class Preferences {
                         mUseSimpleMetricConversions = m.getBooleanWithDefault(USE_SIMPLE_METRIC_CONVERSIONS, mUseSimpleMetricConversions);
                         mAutoNameNewCharacters = m.getBooleanWithDefault(AUTO_NAME_NEW_CHARACTERS, mAutoNameNewCharacters);
                         mUseNativePrintDialogs = m.getBooleanWithDefault(USE_NATIVE_PRINT_DIALOGS, mUseNativePrintDialogs);
+                        mCompactPDF = m.getBooleanWithDefault(COMPACT_PDF, mCompactPDF);
                         mShowCollegeInSheetSpells = m.getBooleanWithDefault(SHOW_COLLEGE_IN_SHEET_SPELLS, mShowCollegeInSheetSpells);
                         mUseTitleInFooter = m.getBooleanWithDefault(USE_TITLE_IN_FOOTER, mUseTitleInFooter);
                         if (m.has(THEME)) {
@@ -508,6 +503,7 @@ public class Preferences {
                     w.key(THEME);
                     Theme.current().save(w);
                     w.keyValue(USE_NATIVE_PRINT_DIALOGS, mUseNativePrintDialogs);
+                    w.keyValue(COMPACT_PDF, mCompactPDF);
                     if (mDefaultPageSettings != null) {
                         w.key(DEFAULT_PAGE_SETTINGS);
                         mDefaultPageSettings.toJSON(w, LengthUnits.IN);
@@ -957,4 +953,12 @@ public class Preferences {
     public void setUseNativePrintDialogs(boolean useNativePrintDialogs) {
         mUseNativePrintDialogs = useNativePrintDialogs;
     }
+
+    public boolean useCompactPDF() {
+        return mCompactPDF;
+    }
+
+    public void setUseCompactPDF(boolean compactPDF) {
+        mCompactPDF = compactPDF;
+    }
 }
@@ -56,7 +56,8 @@ public class PrereqList extends Prereq {
         mAll = all;
         mWhenEnabled = false;
         mWhenTLCriteria = new IntegerCriteria(NumericCompareType.AT_LEAST, 0);
-        mPrereqs = new ArrayList<>();
+        // Most rows have no prerequisites, so the list is only allocated once one is added
+        mPrereqs = Collections.emptyList();
     }
 
     /**
@@ -84,9 +85,13 @@ public class PrereqList extends Prereq {
         mAll = prereqList.mAll;
         mWhenEnabled = prereqList.mWhenEnabled;
         mWhenTLCriteria = new IntegerCriteria(prereqList.mWhenTLCriteria);
-        mPrereqs = new ArrayList<>(prereqList.mPrereqs.size());
-        for (Prereq prereq : prereqList.mPrereqs) {
-            mPrereqs.add(prereq.clone(this));
+        if (prereqList.mPrereqs.isEmpty()) {
+            mPrereqs = Collections.emptyList();
+        } else {
+            mPrereqs = new ArrayList<>(prereqList.mPrereqs.size());
+            for (Prereq prereq : prereqList.mPrereqs) {
+                mPrereqs.add(prereq.clone(this));
+            }
         }
     }
 
@@ -125,13 +130,13 @@ public class PrereqList extends Prereq {
             for (int i = 0; i < count; i++) {
                 JsonMap m1 = a.getMap(i);
                 switch (m1.getString(DataFile.KEY_TYPE)) {
-                case TAG_ROOT -> mPrereqs.add(new PrereqList(this, state.mDefWeightUnits, m1));
-                case AdvantagePrereq.TAG_ROOT -> mPrereqs.add(new AdvantagePrereq(this, m1));
-                case AttributePrereq.TAG_ROOT -> mPrereqs.add(new AttributePrereq(this, m1));
-                case ContainedWeightPrereq.TAG_ROOT -> mPrereqs.add(new ContainedWeightPrereq(this, state.mDefWeightUnits, m1));
-                case ContainedQuantityPrereq.TAG_ROOT -> mPrereqs.add(new ContainedQuantityPrereq(this, m1));
-                case SkillPrereq.TAG_ROOT -> mPrereqs.add(new SkillPrereq(this, m1));
-                case SpellPrereq.TAG_ROOT -> mPrereqs.add(new SpellPrereq(this, m1));
+                case TAG_ROOT -> mutablePrereqs().add(new PrereqList(this, state.mDefWeightUnits, m1));
+                case AdvantagePrereq.TAG_ROOT -> mutablePrereqs().add(new AdvantagePrereq(this, m1));
+                case AttributePrereq.TAG_ROOT -> mutablePrereqs().add(new AttributePrereq(this, m1));
+                case ContainedWeightPrereq.TAG_ROOT -> mutablePrereqs().add(new ContainedWeightPrereq(this, state.mDefWeightUnits, m1));
+                case ContainedQuantityPrereq.TAG_ROOT -> mutablePrereqs().add(new ContainedQuantityPrereq(this, m1));
+                case SkillPrereq.TAG_ROOT -> mutablePrereqs().add(new SkillPrereq(this, m1));
+                case SpellPrereq.TAG_ROOT -> mutablePrereqs().add(new SpellPrereq(this, m1));
                 }
             }
         }
@@ -211,7 +216,14 @@ public class PrereqList extends Prereq {
      * @param prereq The prerequisite to add.
      */
     public void add(int index, Prereq prereq) {
-        mPrereqs.add(index, prereq);
+        mutablePrereqs().add(index, prereq);
+    }
+
+    private List<Prereq> mutablePrereqs() {
+        if (!(mPrereqs instanceof ArrayList)) {
+            mPrereqs = new ArrayList<>(mPrereqs);
+        }
+        return mPrereqs;
     }
 
     /**
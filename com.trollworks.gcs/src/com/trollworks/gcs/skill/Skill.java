@@ -96,6 +96,8 @@ public class Skill extends ListRow implements HasSourceReference {
     private              int               mEncumbrancePenaltyMultiplier;
     private              List<WeaponStats> mWeapons;
     private              SkillDefault      mDefaultedFrom;
+    private              int               mMemoLevelEpoch          = -1;
+    private              int               mMemoLevel;
 
     /**
      * Creates a string suitable for displaying the level.
@@ -170,6 +172,7 @@ public class Skill extends ListRow implements HasSourceReference {
                 mWeapons.add(new RangedWeaponStats(this, (RangedWeaponStats) weapon));
             }
         }
+        mWeapons = compact(mWeapons);
         updateLevel(false);
         if (deep) {
             int count = skill.getChildCount();
@@ -278,6 +281,7 @@ public class Skill extends ListRow implements HasSourceReference {
             }
             if (m.has(KEY_WEAPONS)) {
                 WeaponStats.loadFromJSONArray(this, m.getArray(KEY_WEAPONS), mWeapons);
+                mWeapons = compact(mWeapons);
             }
         }
     }
@@ -341,6 +345,15 @@ public class Skill extends ListRow implements HasSourceReference {
         return false;
     }
 
+    @Override
+    public void updateFromLibrary(ListRow source, String hash) {
+        super.updateFromLibrary(source, hash);
+        Skill skill = (Skill) source;
+        setName(skill.mName);
+        setReference(skill.mReference);
+        setWeapons(copyWeapons(skill.mWeapons));
+    }
+
     /** @return The level. */
     public int getLevel() {
         return mLevel.getLevel();
@@ -368,6 +381,7 @@ public class Skill extends ListRow implements HasSourceReference {
     public boolean setName(String name) {
         if (!mName.equals(name)) {
             mName = name;
+            invalidateLevelMemo();
             notifySingle(ID_NAME);
             return true;
         }
@@ -386,6 +400,7 @@ public class Skill extends ListRow implements HasSourceReference {
     public boolean setSpecialization(String specialization) {
         if (!mSpecialization.equals(specialization)) {
             mSpecialization = specialization;
+            invalidateLevelMemo();
             notifySingle(ID_SPECIALIZATION);
             return true;
         }
@@ -481,6 +496,7 @@ public class Skill extends ListRow implements HasSourceReference {
     public void updateLevel(boolean notify) {
         SkillLevel savedLevel = mLevel;
         mLevel = calculateLevelSelf();
+        invalidateLevelMemo();
         if (notify) {
             startNotify();
             if (savedLevel.isDifferentLevelThan(mLevel)) {
@@ -504,7 +520,25 @@ public class Skill extends ListRow implements HasSourceReference {
      * @return The calculated level.
      */
     public int getLevel(Set<String> excludes) {
-        return calculateLevel(getCharacter(), getName(), getSpecialization(), getCategories(), getDefaults(), getAttribute(), getDifficulty(), getPoints(), excludes, getEncumbrancePenaltyMultiplier()).mLevel;
+        GURPSCharacter character = getCharacter();
+        if (character != null && mMemoLevelEpoch == character.getLevelEpoch()) {
+            return mMemoLevel;
+        }
+        int level = calculateLevel(character, getName(), getSpecialization(), getCategories(), getDefaults(), getAttribute(), getDifficulty(), getPoints(), excludes, getEncumbrancePenaltyMultiplier()).mLevel;
+        if (character != null) {
+            mMemoLevel = level;
+            mMemoLevelEpoch = character.getLevelEpoch();
+        }
+        return level;
+    }
+
+    /**
+     * Discards the level memoized by {@link #getLevel(Set)}. The exclusion set is not consulted by
+     * {@link #calculateLevel}, so the memo only needs to track this skill's own state and the
+     * character's level epoch.
+     */
+    protected void invalidateLevelMemo() {
+        mMemoLevelEpoch = -1;
     }
 
     /** @return The attribute. */
@@ -548,6 +582,7 @@ public class Skill extends ListRow implements HasSourceReference {
         multiplier = Math.min(Math.max(multiplier, 0), 9);
         if (mEncumbrancePenaltyMultiplier != multiplier) {
             mEncumbrancePenaltyMultiplier = multiplier;
+            invalidateLevelMemo();
             notifySingle(ID_ENCUMBRANCE_PENALTY);
             return true;
         }
@@ -575,14 +610,10 @@ public class Skill extends ListRow implements HasSourceReference {
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getName().toLowerCase().contains(text)) {
-            return true;
-        }
-        if (getSpecialization().toLowerCase().contains(text)) {
-            return true;
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void collectSearchableText(List<String> fields) {
+        fields.add(getName());
+        fields.add(getSpecialization());
+        super.collectSearchableText(fields);
     }
 
     @Override
@@ -237,6 +237,8 @@ public class Technique extends Skill {
     public void updateLevel(boolean notify) {
         if (mDefault != null) {
             super.updateLevel(notify);
+        } else {
+            invalidateLevelMemo();
         }
     }
 
@@ -176,6 +176,7 @@ public class Spell extends ListRow implements HasSourceReference {
                 mWeapons.add(new RangedWeaponStats(this, (RangedWeaponStats) weapon));
             }
         }
+        mWeapons = compact(mWeapons);
         updateLevel(false);
         if (deep) {
             int count = spell.getChildCount();
@@ -287,6 +288,7 @@ public class Spell extends ListRow implements HasSourceReference {
             mPoints = m.getIntWithDefault(TAG_POINTS, 1);
             if (m.has(KEY_WEAPONS)) {
                 WeaponStats.loadFromJSONArray(this, m.getArray(KEY_WEAPONS), mWeapons);
+                mWeapons = compact(mWeapons);
             }
         }
     }
@@ -355,6 +357,15 @@ public class Spell extends ListRow implements HasSourceReference {
         return false;
     }
 
+    @Override
+    public void updateFromLibrary(ListRow source, String hash) {
+        super.updateFromLibrary(source, hash);
+        Spell spell = (Spell) source;
+        setName(spell.mName);
+        setReference(spell.mReference);
+        setWeapons(copyWeapons(spell.mWeapons));
+    }
+
     /** @return The tech level. */
     public String getTechLevel() {
         return mTechLevel;
@@ -523,6 +534,7 @@ public class Spell extends ListRow implements HasSourceReference {
     public boolean setSpellClass(String spellClass) {
         if (!mSpellClass.equals(spellClass)) {
             mSpellClass = spellClass;
+            invalidateSearchText();
             return true;
         }
         return false;
@@ -742,17 +754,11 @@ public class Spell extends ListRow implements HasSourceReference {
     }
 
     @Override
-    public boolean contains(String text, boolean lowerCaseOnly) {
-        if (getName().toLowerCase().contains(text)) {
-            return true;
-        }
-        if (getCollege().toLowerCase().contains(text)) {
-            return true;
-        }
-        if (getSpellClass().toLowerCase().contains(text)) {
-            return true;
-        }
-        return super.contains(text, lowerCaseOnly);
+    protected void collectSearchableText(List<String> fields) {
+        fields.add(getName());
+        fields.add(getCollege());
+        fields.add(getSpellClass());
+        super.collectSearchableText(fields);
     }
 
     @Override
@@ -18,22 +18,44 @@ import java.awt.Component;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
+import java.util.function.Supplier;
 import javax.swing.Icon;
 
 public class RetinaIcon implements Icon {
-    private Img mNormal;
-    private Img mRetina;
+    private Img           mNormal;
+    private Img           mRetina;
+    private Supplier<Img> mNormalLoader;
+    private Supplier<Img> mRetinaLoader;
 
     public RetinaIcon(Img normal, Img retina) {
         mNormal = normal;
         mRetina = retina;
     }
 
+    /**
+     * Creates a new icon whose images aren't loaded until they are first needed.
+     *
+     * @param normal Loads the normal resolution image.
+     * @param retina Loads the double resolution image. May be {@code null}.
+     */
+    public RetinaIcon(Supplier<Img> normal, Supplier<Img> retina) {
+        mNormalLoader = normal;
+        mRetinaLoader = retina;
+    }
+
     public Img getNormal() {
+        if (mNormalLoader != null) {
+            mNormal = mNormalLoader.get();
+            mNormalLoader = null;
+        }
         return mNormal;
     }
 
     public Img getRetina() {
+        if (mRetinaLoader != null) {
+            mRetina = mRetinaLoader.get();
+            mRetinaLoader = null;
+        }
         return mRetina;
     }
 
@@ -42,22 +64,26 @@ public class RetinaIcon implements Icon {
         Graphics2D     gc    = (Graphics2D) g;
         RenderingHints saved = GraphicsUtilities.setMaximumQualityForGraphics(gc);
         Scale          scale = Scale.get(component);
-        Img            img   = mRetina != null && (scale.getScale() > 1 || GraphicsUtilities.isRetinaDisplay(g)) ? mRetina : mNormal;
+        Img            img   = scale.getScale() > 1 || GraphicsUtilities.isRetinaDisplay(g) ? getRetina() : null;
+        if (img == null) {
+            img = getNormal();
+        }
         gc.drawImage(img, x, y, scale.scale(getIconWidth()), scale.scale(getIconHeight()), component);
         gc.setRenderingHints(saved);
     }
 
     @Override
     public int getIconWidth() {
-        return mNormal.getWidth();
+        return getNormal().getWidth();
     }
 
     @Override
     public int getIconHeight() {
-        return mNormal.getHeight();
+        return getNormal().getHeight();
     }
 
     public RetinaIcon createDisabled() {
-        return new RetinaIcon(mNormal.translucent(0.3f), mRetina != null ? mRetina.translucent(0.3f) : null);
+        Img retina = getRetina();
+        return new RetinaIcon(getNormal().translucent(0.3f), retina != null ? retina.translucent(0.3f) : null);
     }
 }
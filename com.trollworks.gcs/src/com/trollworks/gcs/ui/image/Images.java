@@ -16,11 +16,16 @@ import com.trollworks.gcs.utility.Log;
 
 import java.awt.Transparency;
 import java.io.InputStream;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Provides access to the images bundled with the application. Nothing is decoded until it is first
+ * used, so code paths that never show a window don't pay for the images.
+ */
 public final class Images {
-    public static final List<Img>  APP_ICON_LIST         = Arrays.asList(get("app_1024"), get("app_512"), get("app_256"), get("app_128"), get("app_64"), get("app_32"), get("app_16"));
+    private static final Map<String, Img> CACHE = new ConcurrentHashMap<>();
     public static final RetinaIcon ABOUT                 = getRetina("about");
     public static final RetinaIcon ADD                   = getRetina("add");
     public static final RetinaIcon ADM_FILE              = getRetina("adm_file");
@@ -66,12 +71,25 @@ public final class Images {
     public static final RetinaIcon SUPERNATURAL_TYPE     = getRetina("supernatural_type");
     public static final RetinaIcon TOGGLE_OPEN           = getRetina("toggle_open");
     public static final RetinaIcon UNLOCKED              = getRetina("unlocked");
-    public static final Img        DEFAULT_PORTRAIT      = get("default_portrait");
 
     private Images() {
     }
 
-    static synchronized Img get(String name) {
+    /** @return The application icon, in each of the sizes it is available in. */
+    public static List<Img> getAppIconList() {
+        return List.of(get("app_1024"), get("app_512"), get("app_256"), get("app_128"), get("app_64"), get("app_32"), get("app_16"));
+    }
+
+    /** @return The portrait to use when none has been set. */
+    public static Img getDefaultPortrait() {
+        return get("default_portrait");
+    }
+
+    static Img get(String name) {
+        return CACHE.computeIfAbsent(name, Images::load);
+    }
+
+    private static Img load(String name) {
         name += ".png";
         try (InputStream in = Img.class.getModule().getResourceAsStream("/images/" + name)) {
             return Img.create(in);
@@ -82,6 +100,6 @@ public final class Images {
     }
 
     static RetinaIcon getRetina(String name) {
-        return new RetinaIcon(get(name), get(name + "@2x"));
+        return new RetinaIcon(() -> get(name), () -> get(name + "@2x"));
     }
 }
@@ -65,7 +65,7 @@ public class BaseWindow extends JFrame implements Undoable, Comparable<BaseWindo
         WindowSizeEnforcer.monitor(this);
         MenuKeyPreferences.loadFromPreferences();
         setJMenuBar(new StdMenuBar());
-        setIconImages(Images.APP_ICON_LIST);
+        setIconImages(Images.getAppIconList());
         mUndoManager = new StdUndoManager();
         enableEvents(AWTEvent.KEY_EVENT_MASK | AWTEvent.MOUSE_EVENT_MASK);
         WINDOW_LIST.add(this);
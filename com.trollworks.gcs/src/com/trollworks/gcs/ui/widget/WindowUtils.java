@@ -432,7 +432,7 @@ public final class WindowUtils {
             HIDDEN_FRAME = new Frame();
             HIDDEN_FRAME.setUndecorated(true);
             HIDDEN_FRAME.setBounds(0, 0, 0, 0);
-            HIDDEN_FRAME.setIconImages(Images.APP_ICON_LIST);
+            HIDDEN_FRAME.setIconImages(Images.getAppIconList());
         }
         return HIDDEN_FRAME;
     }
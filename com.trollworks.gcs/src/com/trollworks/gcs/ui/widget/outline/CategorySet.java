@@ -0,0 +1,209 @@
+/*
+ * Copyright ©1998-2020 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.ui.widget.outline;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An immutable set of categories. Category names are interned into a global dictionary, so each
+ * set only holds the small integer IDs of its categories, kept in the same order as the names
+ * would have in a {@link TreeSet}. Sets with the same content are shared, too, so the many rows of
+ * a library that have the same categories all refer to the same instance.
+ */
+public final class CategorySet extends AbstractSet<String> {
+    private static final Map<String, Integer>          IDS   = new ConcurrentHashMap<>();
+    private static final List<String>                  NAMES = new CopyOnWriteArrayList<>();
+    private static final Map<CategorySet, CategorySet> SETS  = new ConcurrentHashMap<>();
+    /** The empty set. */
+    public static final  CategorySet                   EMPTY = new CategorySet(new int[0]);
+    private              int[]                         mIDs;
+    private              int                           mHash;
+
+    private CategorySet(int[] ids) {
+        mIDs = ids;
+        int hash = 0;
+        for (int id : ids) {
+            hash += NAMES.get(id).hashCode();
+        }
+        mHash = hash;
+    }
+
+    /**
+     * @param categories The categories to include.
+     * @return The set holding the categories.
+     */
+    public static CategorySet create(Collection<String> categories) {
+        if (categories.isEmpty()) {
+            return EMPTY;
+        }
+        String[] names = categories.toArray(new String[0]);
+        Arrays.sort(names);
+        int[] ids   = new int[names.length];
+        int   count = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (i == 0 || !names[i].equals(names[i - 1])) {
+                ids[count++] = intern(names[i]);
+            }
+        }
+        return share(new CategorySet(count == ids.length ? ids : Arrays.copyOf(ids, count)));
+    }
+
+    private static CategorySet share(CategorySet set) {
+        CategorySet existing = SETS.putIfAbsent(set, set);
+        return existing != null ? existing : set;
+    }
+
+    private static int intern(String name) {
+        Integer id = IDS.get(name);
+        if (id == null) {
+            synchronized (IDS) {
+                id = IDS.get(name);
+                if (id == null) {
+                    // The name must be retrievable before its ID is handed out
+                    NAMES.add(name);
+                    id = Integer.valueOf(NAMES.size() - 1);
+                    IDS.put(name, id);
+                }
+            }
+        }
+        return id.intValue();
+    }
+
+    /**
+     * @param category The category to look up.
+     * @return The ID of the category, or -1 if no set has ever contained it.
+     */
+    public static int getID(String category) {
+        Integer id = IDS.get(category);
+        return id != null ? id.intValue() : -1;
+    }
+
+    /**
+     * @param id A category ID.
+     * @return The name of the category.
+     */
+    public static String getName(int id) {
+        return NAMES.get(id);
+    }
+
+    /**
+     * @param category The category to add.
+     * @return A set with the category added. If the category was already present, this set is
+     *         returned.
+     */
+    public CategorySet with(String category) {
+        if (contains(category)) {
+            return this;
+        }
+        List<String> names = new ArrayList<>(this);
+        names.add(category);
+        return create(names);
+    }
+
+    /**
+     * @param id A category ID.
+     * @return Whether the category is in this set.
+     */
+    public boolean containsID(int id) {
+        for (int one : mIDs) {
+            if (one == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param index The index of the category within this set.
+     * @return The ID of the category at the index.
+     */
+    public int getID(int index) {
+        return mIDs[index];
+    }
+
+    /**
+     * @param index The index of the category within this set.
+     * @return The name of the category at the index.
+     */
+    public String get(int index) {
+        return NAMES.get(mIDs[index]);
+    }
+
+    /** @param ids The set to add the IDs of the categories in this set to. */
+    public void addIDsTo(BitSet ids) {
+        for (int id : mIDs) {
+            ids.set(id);
+        }
+    }
+
+    @Override
+    public boolean contains(Object obj) {
+        return obj instanceof String && containsID(getID((String) obj));
+    }
+
+    @Override
+    public int size() {
+        return mIDs.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return mIDs.length == 0;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int mIndex;
+
+            @Override
+            public boolean hasNext() {
+                return mIndex < mIDs.length;
+            }
+
+            @Override
+            public String next() {
+                if (mIndex >= mIDs.length) {
+                    throw new NoSuchElementException();
+                }
+                return NAMES.get(mIDs[mIndex++]);
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof CategorySet) {
+            return Arrays.equals(mIDs, ((CategorySet) obj).mIDs);
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return mHash;
+    }
+}
@@ -39,6 +39,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -148,7 +149,6 @@ public class ListOutline extends Outline implements Runnable, ActionListener {
         List<Row>    sel   = model.getSelectionAsList(true);
         int          count = sel.size();
         int          insertAt;
-        int          i;
         Row          parentRow;
         if (count > 0) {
             insertAt = model.getIndexOfRow(sel.get(count == 1 ? 0 : count - 1));
@@ -169,10 +169,7 @@ public class ListOutline extends Outline implements Runnable, ActionListener {
         } else {
             insertAt = model.getRowCount();
         }
-        i = insertAt;
-        for (ListRow row : rows) {
-            model.addRow(i++, row, true);
-        }
+        model.addRows(insertAt, Arrays.asList(rows), true);
         updateAllRows();
         edit.end();
         postUndo(edit);
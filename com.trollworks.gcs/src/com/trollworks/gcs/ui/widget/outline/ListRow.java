@@ -38,12 +38,14 @@ import com.trollworks.gcs.utility.VersionException;
 import com.trollworks.gcs.utility.json.JsonArray;
 import com.trollworks.gcs.utility.json.JsonMap;
 import com.trollworks.gcs.utility.json.JsonWriter;
+import com.trollworks.gcs.weapon.WeaponStats;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
@@ -78,7 +80,8 @@ public abstract class ListRow extends Row implements Updatable {
     private              boolean            mIsSatisfied;
     private              String             mUnsatisfiedReason;
     private              String             mNotes;
-    private              TreeSet<String>    mCategories;
+    private              CategorySet        mCategories;
+    private              String             mSearchText;
 
     public static void saveList(JsonWriter w, String key, List<?> list, SaveType saveType) throws IOException {
         FilteredList<ListRow> rows = new FilteredList<>(list, ListRow.class, true);
@@ -168,7 +171,7 @@ public abstract class ListRow extends Row implements Updatable {
         mDefaults = new ArrayList<>();
         mIsSatisfied = true;
         mNotes = "";
-        mCategories = new TreeSet<>();
+        mCategories = CategorySet.EMPTY;
     }
 
     /**
@@ -184,19 +187,16 @@ public abstract class ListRow extends Row implements Updatable {
         for (Feature feature : rowToClone.mFeatures) {
             mFeatures.add(feature.cloneFeature());
         }
+        mFeatures = compact(mFeatures);
         mPrereqList = new PrereqList(null, rowToClone.getPrereqs());
         mDefaults = new ArrayList<>();
         for (SkillDefault skillDefault : rowToClone.mDefaults) {
             mDefaults.add(new SkillDefault(skillDefault));
         }
-        mCategories = new TreeSet<>(rowToClone.mCategories);
+        mDefaults = compact(mDefaults);
+        mCategories = rowToClone.mCategories;
         try {
-            MessageDigest         digest = MessageDigest.getInstance("SHA3-256");
-            ByteArrayOutputStream baos   = new ByteArrayOutputStream();
-            try (JsonWriter w = new JsonWriter(new OutputStreamWriter(baos, StandardCharsets.UTF_8), "")) {
-                rowToClone.save(w, SaveType.HASH);
-            }
-            mBasedOnHash = Base64.getEncoder().withoutPadding().encodeToString(digest.digest(baos.toByteArray()));
+            mBasedOnHash = rowToClone.getContentHash();
             mBasedOnID = rowToClone.mID;
         } catch (Exception exception) {
             mBasedOnID = null;
@@ -210,6 +210,73 @@ public abstract class ListRow extends Row implements Updatable {
         return mID;
     }
 
+    /**
+     * @return A fingerprint of the row's content, including its children. Rows cloned from this
+     *         one record it as their {@link #getBasedOnHash()}, so it can later be used to tell
+     *         whether this row has changed since. It is calculated on each call.
+     */
+    public String getContentHash() throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA3-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IOException(exception);
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (JsonWriter w = new JsonWriter(new OutputStreamWriter(baos, StandardCharsets.UTF_8), "")) {
+            save(w, SaveType.HASH);
+        }
+        return Base64.getEncoder().withoutPadding().encodeToString(digest.digest(baos.toByteArray()));
+    }
+
+    /** @return The ID of the row this row was cloned from, or {@code null}. */
+    public UUID getBasedOnID() {
+        return mBasedOnID;
+    }
+
+    /**
+     * @return The {@link #getContentHash()} of the row this row was cloned from, as of the time
+     *         it was cloned, or {@code null}.
+     */
+    public String getBasedOnHash() {
+        return mBasedOnHash;
+    }
+
+    /**
+     * Copies the fields this row takes from the library row it was based on, leaving the state
+     * that belongs to this copy, such as points, quantity, notes and children, alone.
+     *
+     * @param source The library row this row was based on.
+     * @param hash   The {@link #getContentHash()} of the library row.
+     */
+    public void updateFromLibrary(ListRow source, String hash) {
+        List<Feature> features = new ArrayList<>(source.mFeatures.size());
+        for (Feature feature : source.mFeatures) {
+            features.add(feature.cloneFeature());
+        }
+        setFeatures(features);
+        setPrereqs(source.mPrereqList);
+        List<SkillDefault> defaults = new ArrayList<>(source.mDefaults.size());
+        for (SkillDefault skillDefault : source.mDefaults) {
+            defaults.add(new SkillDefault(skillDefault));
+        }
+        setDefaults(defaults);
+        setCategories(source.mCategories);
+        mBasedOnHash = hash;
+    }
+
+    /**
+     * @param weapons The weapons to copy.
+     * @return Copies of the weapons, owned by this row.
+     */
+    protected List<WeaponStats> copyWeapons(List<WeaponStats> weapons) {
+        List<WeaponStats> copies = new ArrayList<>(weapons.size());
+        for (WeaponStats weapon : weapons) {
+            copies.add(weapon.clone(this));
+        }
+        return copies;
+    }
+
     /**
      * @param obj The other object to compare against.
      * @return Whether or not this {@link ListRow} is equivalent.
@@ -321,6 +388,7 @@ public abstract class ListRow extends Row implements Updatable {
         boolean isContainer = m.getString(DataFile.KEY_TYPE).endsWith("_container");
         setCanHaveChildren(isContainer);
         setOpen(isContainer);
+        invalidateCachedValues();
         prepareForLoad(state);
         loadSelf(m, state);
         if (m.has(KEY_PREREQS)) {
@@ -356,11 +424,13 @@ public abstract class ListRow extends Row implements Updatable {
         }
         mNotes = m.getString(TAG_NOTES);
         if (m.has(TAG_CATEGORIES)) {
-            JsonArray a     = m.getArray(TAG_CATEGORIES);
-            int       count = a.size();
+            JsonArray    a          = m.getArray(TAG_CATEGORIES);
+            int          count      = a.size();
+            List<String> categories = new ArrayList<>(count);
             for (int i = 0; i < count; i++) {
-                mCategories.add(a.getString(i));
+                categories.add(a.getString(i));
             }
+            mCategories = CategorySet.create(categories);
         }
         if (canHaveChildren()) {
             setOpen(m.getBoolean(ATTRIBUTE_OPEN));
@@ -372,9 +442,30 @@ public abstract class ListRow extends Row implements Updatable {
                 }
             }
         }
+        mFeatures = compact(mFeatures);
+        mDefaults = compact(mDefaults);
         finishedLoading(state);
     }
 
+    /**
+     * Rows are often loaded in large numbers, mostly to be browsed, so lists that are filled in
+     * while loading or cloning a row are passed through here once they are complete. Lists that
+     * are later changed must be replaced, not modified in place.
+     *
+     * @param list The list to compact.
+     * @return A shared, immutable empty list if the list is empty, otherwise the list itself with
+     *         any unused capacity released.
+     */
+    protected static <T> List<T> compact(List<T> list) {
+        if (list.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (list instanceof ArrayList) {
+            ((ArrayList<T>) list).trimToSize();
+        }
+        return list;
+    }
+
     protected abstract void loadSelf(JsonMap m, LoadState state) throws IOException;
 
     protected abstract void loadChild(JsonMap m, LoadState state) throws IOException;
@@ -386,10 +477,10 @@ public abstract class ListRow extends Row implements Updatable {
      */
     protected void prepareForLoad(LoadState state) {
         mNotes = "";
-        mFeatures.clear();
-        mDefaults.clear();
+        mFeatures = new ArrayList<>();
+        mDefaults = new ArrayList<>();
         mPrereqList = new PrereqList(null, true);
-        mCategories.clear();
+        mCategories = CategorySet.EMPTY;
     }
 
     /**
@@ -482,6 +573,7 @@ public abstract class ListRow extends Row implements Updatable {
      * @param data Extra data specific to this notification.
      */
     public void notify(String type, Object data) {
+        invalidateCachedValues();
         if (mDataFile != null) {
             mDataFile.notify(type, this);
         }
@@ -493,6 +585,7 @@ public abstract class ListRow extends Row implements Updatable {
      * @param type The notification type.
      */
     public final void notifySingle(String type) {
+        invalidateCachedValues();
         if (mDataFile != null) {
             mDataFile.notifySingle(type, this);
         }
@@ -567,8 +660,8 @@ public abstract class ListRow extends Row implements Updatable {
     }
 
     /** @return The categories this data row belongs to. */
-    public Set<String> getCategories() {
-        return Collections.unmodifiableSet(mCategories);
+    public CategorySet getCategories() {
+        return mCategories;
     }
 
     /** @return The categories this data row belongs to. */
@@ -608,15 +701,17 @@ public abstract class ListRow extends Row implements Updatable {
      * @return Whether there was a change or not.
      */
     public boolean setCategories(Collection<String> categories) {
-        Set<String> old = mCategories;
-        mCategories = new TreeSet<>();
+        CategorySet  old  = mCategories;
+        List<String> list = new ArrayList<>(categories.size());
         for (String category : categories) {
             category = category.trim();
             if (!category.isEmpty()) {
-                mCategories.add(category);
+                list.add(category);
             }
         }
+        mCategories = CategorySet.create(list);
         if (!old.equals(mCategories)) {
+            invalidateSearchText();
             String id = getCategoryID();
             if (id != null) {
                 notifySingle(id);
@@ -642,7 +737,9 @@ public abstract class ListRow extends Row implements Updatable {
     public boolean addCategory(String category) {
         category = category.trim();
         if (!category.isEmpty()) {
-            if (mCategories.add(category)) {
+            CategorySet updated = mCategories.with(category);
+            if (updated != mCategories) {
+                mCategories = updated;
                 String id = getCategoryID();
                 if (id != null) {
                     notifySingle(id);
@@ -703,9 +800,53 @@ public abstract class ListRow extends Row implements Updatable {
      * @param lowerCaseOnly The passed in text is all lowercase.
      * @return {@code true} if this row contains the text.
      */
-    @SuppressWarnings("static-method")
     public boolean contains(String text, boolean lowerCaseOnly) {
-        return false;
+        return getSearchText().contains(lowerCaseOnly ? text : text.toLowerCase());
+    }
+
+    /**
+     * @return The lowercased text of all the fields that {@link #contains(String, boolean)}
+     *         searches, separated by NUL characters so that a match can't span two fields. It is
+     *         built on first use and then reused until the row changes.
+     */
+    public final String getSearchText() {
+        String text = mSearchText;
+        if (text == null) {
+            List<String> fields = new ArrayList<>();
+            collectSearchableText(fields);
+            StringBuilder buffer = new StringBuilder();
+            for (String field : fields) {
+                if (!buffer.isEmpty()) {
+                    buffer.append('\0');
+                }
+                buffer.append(field.toLowerCase());
+            }
+            text = buffer.toString();
+            mSearchText = text;
+        }
+        return text;
+    }
+
+    /**
+     * Called to gather the text of the fields that can be searched. Does nothing by default.
+     *
+     * @param fields The list to add the text of each field to.
+     */
+    protected void collectSearchableText(List<String> fields) {
+        // Nothing to do.
+    }
+
+    /** Discards the cached search text. Called automatically whenever a notification is sent. */
+    protected final void invalidateSearchText() {
+        mSearchText = null;
+    }
+
+    /**
+     * Called whenever a notification is sent on behalf of this row and when it is loaded.
+     * Sub-classes that cache values derived from their state should discard them here.
+     */
+    protected void invalidateCachedValues() {
+        invalidateSearchText();
     }
 
     /**
@@ -728,12 +869,14 @@ public abstract class ListRow extends Row implements Updatable {
 
     /** @param map The map of nameable keys to names to apply. */
     public void applyNameableKeys(Map<String, String> map) {
+        invalidateSearchText();
         mNotes = nameNameables(map, mNotes);
         for (SkillDefault def : mDefaults) {
             def.applyNameableKeys(map);
         }
         for (Feature feature : mFeatures) {
             feature.applyNameableKeys(map);
+            feature.invalidateNormalizedKey();
         }
         mPrereqList.applyNameableKeys(map);
     }
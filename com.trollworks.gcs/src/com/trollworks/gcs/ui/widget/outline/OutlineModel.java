@@ -18,6 +18,7 @@ import com.trollworks.gcs.utility.text.Numbers;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
@@ -287,12 +288,40 @@ public class OutlineModel implements SelectionOwner, StateEditable {
      * @param includeChildren Whether children of open rows are added as well.
      */
     public void addRow(int index, Row row, boolean includeChildren) {
-        ArrayList<Row> list = new ArrayList<>();
-        if (includeChildren) {
-            collectRowsAndSetOwner(list, row, false);
-        } else {
-            list.add(row);
-            row.setOwner(this);
+        addRows(index, Collections.singletonList(row), includeChildren);
+    }
+
+    /**
+     * Adds the specified rows. Only a single notification is sent for the entire set of rows,
+     * rather than one per row.
+     *
+     * @param rows            The rows to add.
+     * @param includeChildren Whether children of open rows are added as well.
+     */
+    public void addRows(List<? extends Row> rows, boolean includeChildren) {
+        addRows(mRows.size(), rows, includeChildren);
+    }
+
+    /**
+     * Adds the specified rows. Only a single notification is sent for the entire set of rows,
+     * rather than one per row.
+     *
+     * @param index           The index to add the rows at.
+     * @param rows            The rows to add.
+     * @param includeChildren Whether children of open rows are added as well.
+     */
+    public void addRows(int index, List<? extends Row> rows, boolean includeChildren) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        ArrayList<Row> list = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (includeChildren) {
+                collectRowsAndSetOwner(list, row, false);
+            } else {
+                list.add(row);
+                row.setOwner(this);
+            }
         }
         preserveSelection();
         mRows.addAll(index, list);
@@ -56,6 +56,7 @@ public abstract class Row {
                 child.mParent = this;
             }
         }
+        childrenChanged();
     }
 
     /** @param owner The owning model. */
@@ -234,6 +235,7 @@ public abstract class Row {
             }
             mChildren.add(index, row);
             row.mParent = this;
+            childrenChanged();
             return true;
         }
         return false;
@@ -250,6 +252,7 @@ public abstract class Row {
             row.removeFromParent();
             mChildren.add(row);
             row.mParent = this;
+            childrenChanged();
             return true;
         }
         return false;
@@ -265,11 +268,17 @@ public abstract class Row {
         if (row.isChildOf(this)) {
             mChildren.remove(row);
             row.mParent = null;
+            childrenChanged();
             return true;
         }
         return false;
     }
 
+    /** Called whenever rows are added to or removed from this row's children. */
+    protected void childrenChanged() {
+        // Does nothing by default.
+    }
+
     /**
      * @param parent The parent row.
      * @return {@code true} if this row is a child of the specified row.
@@ -0,0 +1,83 @@
+/*
+ * Copyright ©1998-2020 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.utility;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides shared, cached access to the text content of data files. A file is only read again once
+ * its modification time, size or identity changes, so repeated scans and loads of the same file
+ * don't go back to the file system. Cached content is softly held and will be discarded if memory
+ * becomes tight.
+ */
+public final class FileContents {
+    private static final Map<Path, Entry> CACHE = new ConcurrentHashMap<>();
+
+    private FileContents() {
+    }
+
+    /**
+     * @param path The file to read.
+     * @return The content of the file, decoded as UTF-8.
+     * @throws IOException if the file cannot be read or is not valid UTF-8.
+     */
+    public static String getText(Path path) throws IOException {
+        Path                key   = path.toAbsolutePath().normalize();
+        BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+        Entry               entry = CACHE.get(key);
+        if (entry != null && entry.matches(attrs)) {
+            String text = entry.mText.get();
+            if (text != null) {
+                return text;
+            }
+        }
+        String text = Files.readString(key, StandardCharsets.UTF_8);
+        CACHE.put(key, new Entry(attrs, text));
+        return text;
+    }
+
+    /**
+     * Discards any cached content for the file. Should be called whenever the file is written.
+     *
+     * @param path The file to discard the content of.
+     */
+    public static void invalidate(Path path) {
+        CACHE.remove(path.toAbsolutePath().normalize());
+    }
+
+    private static class Entry {
+        private FileTime              mModified;
+        private long                  mSize;
+        private Object                mFileKey;
+        private SoftReference<String> mText;
+
+        Entry(BasicFileAttributes attrs, String text) {
+            mModified = attrs.lastModifiedTime();
+            mSize = attrs.size();
+            mFileKey = attrs.fileKey();
+            mText = new SoftReference<>(text);
+        }
+
+        boolean matches(BasicFileAttributes attrs) {
+            return mSize == attrs.size() && mModified.equals(attrs.lastModifiedTime()) && Objects.equals(mFileKey, attrs.fileKey());
+        }
+    }
+}
@@ -12,20 +12,20 @@
 package com.trollworks.gcs.utility;
 
 import com.trollworks.gcs.GCS;
-import com.trollworks.gcs.utility.text.Text;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
-import java.util.Map;
+import java.util.UUID;
 
 /** Provides localization support via a single directory of translation files. */
 public final class I18n {
-    private static Map<String, Map<Integer, String>> TRANSLATIONS;
+    private static I18nCatalog CATALOG;
 
     private I18n() {
     }
@@ -62,26 +62,18 @@ public final class I18n {
         if (context < 0 || context > 9) {
             context = 0;
         }
-        Map<Integer, String> m = TRANSLATIONS.get(str);
-        if (m != null) {
-            String value = m.get(Integer.valueOf(context));
+        I18nCatalog catalog = CATALOG;
+        if (catalog != null) {
+            String value = catalog.get(context, str);
             if (value != null) {
                 return value;
             }
-            if (context != 0) {
-                value = m.get(Integer.valueOf(0));
-                if (value != null) {
-                    return value;
-                }
-            }
         }
         return str;
     }
 
     /** Initialize the localization data. */
     public static void initialize() {
-        TRANSLATIONS = new HashMap<>();
-
         Path   base   = null;
         String envVar = System.getenv("GCS_TRANSLATIONS");
         if (envVar != null && !envVar.isBlank()) {
@@ -107,83 +99,21 @@ public final class I18n {
             base = base.normalize();
         }
 
-        String filename = Locale.getDefault().toString();
+        String     filename = Locale.getDefault().toString();
+        List<Path> sources  = new ArrayList<>();
         while (true) {
-            Path path = base.resolve(filename + ".i18n");
-            if (Files.isRegularFile(path) && Files.isReadable(path)) {
-                try (BufferedReader in = Files.newBufferedReader(path)) {
-                    int           lineNum          = 0;
-                    int           lastKeyLineStart = 0;
-                    StringBuilder keyBuilder       = null;
-                    StringBuilder valueBuilder     = null;
-                    char          last             = 0;
-                    int           context          = 0;
-                    String        line             = in.readLine();
-                    while (line != null) {
-                        lineNum++;
-                        if (line.startsWith("k:")) {
-                            if (last == 'v') {
-                                addContextValue(keyBuilder, context, valueBuilder);
-                                keyBuilder = null;
-                                valueBuilder = null;
-                            }
-                            if (keyBuilder == null) {
-                                keyBuilder = new StringBuilder(Text.unquote(line.substring(2)));
-                                lastKeyLineStart = lineNum;
-                            } else {
-                                keyBuilder.append("\n").append(Text.unquote(line.substring(2)));
-                            }
-                            last = 'k';
-                            context = 0;
-                        } else {
-                            for (int i = 0; i < 10; i++) {
-                                String lookFor = i == 0 ? "v:" : "v" + i + ":";
-                                if (line.startsWith(lookFor)) {
-                                    if (keyBuilder != null) {
-                                        if (last == 'v' && context != i) {
-                                            addContextValue(keyBuilder, context, valueBuilder);
-                                            valueBuilder = null;
-                                        }
-                                        if (valueBuilder == null) {
-                                            valueBuilder = new StringBuilder(Text.unquote(line.substring(lookFor.length())));
-                                        } else {
-                                            valueBuilder.append("\n").append(Text.unquote(line.substring(lookFor.length())));
-                                        }
-                                        last = 'v';
-                                        context = i;
-                                    } else {
-                                        Log.warn("ignoring value with no previous key on line " + lineNum);
-                                    }
-                                    break;
-                                }
-                            }
-                        }
-                        line = in.readLine();
-                    }
-                    if (keyBuilder != null) {
-                        if (valueBuilder != null) {
-                            addContextValue(keyBuilder, context, valueBuilder);
-                        } else {
-                            Log.warn("ignoring key with missing value on line " + lastKeyLineStart);
-                        }
-                    }
-                } catch (IOException ex) {
-                    Log.error(ex);
-                }
-            }
+            sources.add(base.resolve(filename + ".i18n"));
             int last = Math.max(filename.lastIndexOf('.'), filename.lastIndexOf('_'));
             if (last == -1) {
                 break;
             }
             filename = filename.substring(0, last);
         }
-    }
-
-    private static void addContextValue(StringBuilder keyBuilder, int context, StringBuilder valueBuilder) {
-        Map<Integer, String> m      = TRANSLATIONS.computeIfAbsent(keyBuilder.toString(), k -> new HashMap<>());
-        Integer              ctxKey = Integer.valueOf(context);
-        if (!m.containsKey(ctxKey)) {
-            m.put(ctxKey, valueBuilder.toString());
+        Path catalogFile = Platform.getCacheDir().resolve("i18n").resolve(UUID.nameUUIDFromBytes(sources.get(0).toString().getBytes(StandardCharsets.UTF_8)) + ".cat");
+        try {
+            CATALOG = I18nCatalog.load(sources, catalogFile);
+        } catch (IOException ex) {
+            Log.error(ex);
         }
     }
 }
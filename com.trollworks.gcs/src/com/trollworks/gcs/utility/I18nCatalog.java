@@ -0,0 +1,376 @@
+/*
+ * Copyright ©1998-2020 by Richard A. Wilkes. All rights reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, version 2.0. If a copy of the MPL was not distributed with
+ * this file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ *
+ * This Source Code Form is "Incompatible With Secondary Licenses", as
+ * defined by the Mozilla Public License, version 2.0.
+ */
+
+package com.trollworks.gcs.utility;
+
+import com.trollworks.gcs.utility.text.Text;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A compiled form of a chain of translation files. Keys are placed in an open-addressed hash table
+ * and all text is stored as UTF-16, so a saved catalog can be memory-mapped and used as-is, with no
+ * parsing. Lookups need no locking. Each translation is turned into a string the first time it is
+ * requested and that string is returned from then on.
+ */
+final class I18nCatalog {
+    private static final int        MAGIC          = 0x47435354; // GCST
+    private static final int        VERSION        = 1;
+    private static final int        HEADER_SIZE    = 32;
+    private static final int        ENTRY_INTS     = 5;
+    private static final int        VALUE_INTS     = 3;
+    private              int[]      mSlots;
+    private              int[]      mEntries;
+    private              int[]      mValues;
+    private              CharBuffer mChars;
+    private              String[]   mKeys;
+    private              String[]   mResolved;
+
+    private I18nCatalog(ByteBuffer buffer) throws IOException {
+        if (!isValid(buffer, buffer.limit())) {
+            throw new IOException("invalid catalog");
+        }
+        int slotCount  = buffer.getInt(16);
+        int entryCount = buffer.getInt(20);
+        int valueCount = buffer.getInt(24);
+        int charCount  = buffer.getInt(28);
+        // The tables are small and probed on every lookup, so they are copied onto the heap in bulk.
+        // The text, which is the bulk of the catalog, is left in the mapped buffer.
+        int offset = HEADER_SIZE;
+        mSlots = new int[slotCount];
+        slice(buffer, offset, slotCount * 4).asIntBuffer().get(mSlots);
+        offset += slotCount * 4;
+        mEntries = new int[entryCount * ENTRY_INTS];
+        slice(buffer, offset, mEntries.length * 4).asIntBuffer().get(mEntries);
+        offset += mEntries.length * 4;
+        mValues = new int[valueCount * VALUE_INTS];
+        slice(buffer, offset, mValues.length * 4).asIntBuffer().get(mValues);
+        offset += mValues.length * 4;
+        mChars = slice(buffer, offset, charCount * 2).asCharBuffer();
+        mKeys = new String[entryCount];
+        mResolved = new String[valueCount];
+    }
+
+    /**
+     * @param header A buffer holding at least the header of a catalog.
+     * @param size   The size of the whole catalog.
+     * @return Whether the header is that of a catalog of the given size.
+     */
+    private static boolean isValid(ByteBuffer header, long size) {
+        if (header.limit() < HEADER_SIZE || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            return false;
+        }
+        int  slotCount  = header.getInt(16);
+        int  entryCount = header.getInt(20);
+        int  valueCount = header.getInt(24);
+        int  charCount  = header.getInt(28);
+        long expected   = HEADER_SIZE + 4L * (slotCount + (long) entryCount * ENTRY_INTS + (long) valueCount * VALUE_INTS) + 2L * charCount;
+        return slotCount > 0 && Integer.bitCount(slotCount) == 1 && entryCount >= 0 && valueCount >= 0 && charCount >= 0 && size == expected;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+        return buffer.duplicate().position(offset).limit(offset + length).slice();
+    }
+
+    /**
+     * Loads the catalog for a chain of translation files, compiling it first if the saved catalog
+     * is missing or was built from different versions of the files.
+     *
+     * @param sources     The translation files, most specific first. Files that don't exist are
+     *                    permitted and skipped.
+     * @param catalogFile The file the compiled catalog is saved to.
+     * @return The catalog, or {@code null} if none of the translation files exist.
+     */
+    static I18nCatalog load(List<Path> sources, Path catalogFile) throws IOException {
+        long    signature = 17;
+        boolean found     = false;
+        for (Path source : sources) {
+            signature = 31 * signature + source.toString().hashCode();
+            if (Files.isRegularFile(source) && Files.isReadable(source)) {
+                found = true;
+                signature = 31 * signature + Files.size(source);
+                signature = 31 * signature + Files.getLastModifiedTime(source).toMillis();
+            }
+        }
+        if (!found) {
+            return null;
+        }
+        if (Files.isRegularFile(catalogFile)) {
+            try (FileChannel channel = FileChannel.open(catalogFile, StandardOpenOption.READ)) {
+                // The header is checked with a plain read, so that only a catalog that will be used
+                // is ever mapped. A mapping can't be released on demand and, on some platforms,
+                // would keep the file from being replaced by the rebuilt catalog below.
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                while (header.hasRemaining() && channel.read(header) >= 0) {
+                    // Keep reading until the header is complete or we run out of data
+                }
+                if (!header.hasRemaining() && header.getLong(8) == signature && isValid(header, channel.size())) {
+                    return new I18nCatalog(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                }
+            } catch (IOException ioe) {
+                // A damaged catalog is simply rebuilt
+            }
+        }
+        Map<String, Map<Integer, String>> translations = new HashMap<>();
+        for (Path source : sources) {
+            if (Files.isRegularFile(source) && Files.isReadable(source)) {
+                try {
+                    parse(source, translations);
+                } catch (IOException ioe) {
+                    Log.error(ioe);
+                }
+            }
+        }
+        ByteBuffer buffer = compile(translations, signature);
+        try {
+            Files.createDirectories(catalogFile.getParent());
+            write(buffer, catalogFile);
+        } catch (IOException ioe) {
+            Log.warn("unable to save translation catalog to " + catalogFile, ioe);
+        }
+        return new I18nCatalog(buffer);
+    }
+
+    private static void parse(Path path, Map<String, Map<Integer, String>> translations) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(path)) {
+            int           lineNum          = 0;
+            int           lastKeyLineStart = 0;
+            StringBuilder keyBuilder       = null;
+            StringBuilder valueBuilder     = null;
+            char          last             = 0;
+            int           context          = 0;
+            String        line             = in.readLine();
+            while (line != null) {
+                lineNum++;
+                if (line.startsWith("k:")) {
+                    if (last == 'v') {
+                        addContextValue(translations, keyBuilder, context, valueBuilder);
+                        keyBuilder = null;
+                        valueBuilder = null;
+                    }
+                    if (keyBuilder == null) {
+                        keyBuilder = new StringBuilder(Text.unquote(line.substring(2)));
+                        lastKeyLineStart = lineNum;
+                    } else {
+                        keyBuilder.append("\n").append(Text.unquote(line.substring(2)));
+                    }
+                    last = 'k';
+                    context = 0;
+                } else {
+                    for (int i = 0; i < 10; i++) {
+                        String lookFor = i == 0 ? "v:" : "v" + i + ":";
+                        if (line.startsWith(lookFor)) {
+                            if (keyBuilder != null) {
+                                if (last == 'v' && context != i) {
+                                    addContextValue(translations, keyBuilder, context, valueBuilder);
+                                    valueBuilder = null;
+                                }
+                                if (valueBuilder == null) {
+                                    valueBuilder = new StringBuilder(Text.unquote(line.substring(lookFor.length())));
+                                } else {
+                                    valueBuilder.append("\n").append(Text.unquote(line.substring(lookFor.length())));
+                                }
+                                last = 'v';
+                                context = i;
+                            } else {
+                                Log.warn("ignoring value with no previous key on line " + lineNum);
+                            }
+                            break;
+                        }
+                    }
+                }
+                line = in.readLine();
+            }
+            if (keyBuilder != null) {
+                if (valueBuilder != null) {
+                    addContextValue(translations, keyBuilder, context, valueBuilder);
+                } else {
+                    Log.warn("ignoring key with missing value on line " + lastKeyLineStart);
+                }
+            }
+        }
+    }
+
+    private static void addContextValue(Map<String, Map<Integer, String>> translations, StringBuilder keyBuilder, int context, StringBuilder valueBuilder) {
+        Map<Integer, String> m      = translations.computeIfAbsent(keyBuilder.toString(), k -> new TreeMap<>());
+        Integer              ctxKey = Integer.valueOf(context);
+        if (!m.containsKey(ctxKey)) {
+            m.put(ctxKey, valueBuilder.toString());
+        }
+    }
+
+    private static ByteBuffer compile(Map<String, Map<Integer, String>> translations, long signature) {
+        int entryCount = translations.size();
+        int valueCount = 0;
+        int charCount  = 0;
+        for (Map.Entry<String, Map<Integer, String>> entry : translations.entrySet()) {
+            charCount += entry.getKey().length();
+            for (String value : entry.getValue().values()) {
+                charCount += value.length();
+                valueCount++;
+            }
+        }
+        // Keep the table no more than half full so probe sequences stay short
+        int slotCount = Integer.highestOneBit(Math.max(entryCount, 1) * 2 - 1) << 1;
+        int size      = HEADER_SIZE + 4 * (slotCount + entryCount * ENTRY_INTS + valueCount * VALUE_INTS) + 2 * charCount;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(signature);
+        buffer.putInt(slotCount);
+        buffer.putInt(entryCount);
+        buffer.putInt(valueCount);
+        buffer.putInt(charCount);
+        int        offset  = HEADER_SIZE;
+        IntBuffer  slots   = slice(buffer, offset, slotCount * 4).asIntBuffer();
+        offset += slotCount * 4;
+        IntBuffer  entries = slice(buffer, offset, entryCount * ENTRY_INTS * 4).asIntBuffer();
+        offset += entryCount * ENTRY_INTS * 4;
+        IntBuffer  values  = slice(buffer, offset, valueCount * VALUE_INTS * 4).asIntBuffer();
+        offset += valueCount * VALUE_INTS * 4;
+        CharBuffer chars   = slice(buffer, offset, charCount * 2).asCharBuffer();
+
+        int mask       = slotCount - 1;
+        int entryIndex = 0;
+        int valueIndex = 0;
+        for (Map.Entry<String, Map<Integer, String>> entry : translations.entrySet()) {
+            String key  = entry.getKey();
+            int    hash = key.hashCode();
+            int    slot = spread(hash) & mask;
+            while (slots.get(slot) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots.put(slot, entryIndex + 1);
+            Map<Integer, String> contextValues = entry.getValue();
+            entries.put(hash);
+            entries.put(chars.position());
+            entries.put(key.length());
+            entries.put(valueIndex);
+            entries.put(contextValues.size());
+            chars.put(key);
+            for (Map.Entry<Integer, String> contextValue : contextValues.entrySet()) {
+                String value = contextValue.getValue();
+                values.put(contextValue.getKey().intValue());
+                values.put(chars.position());
+                values.put(value.length());
+                chars.put(value);
+                valueIndex++;
+            }
+            entryIndex++;
+        }
+        return buffer.clear();
+    }
+
+    private static void write(ByteBuffer buffer, Path catalogFile) throws IOException {
+        SafeFileUpdater transaction = new SafeFileUpdater();
+        transaction.begin();
+        try {
+            File file = transaction.getTransactionFile(catalogFile.toFile());
+            try (FileOutputStream out = new FileOutputStream(file)) {
+                out.getChannel().write(buffer.duplicate());
+            }
+            transaction.commit();
+        } catch (IOException exception) {
+            transaction.abort();
+            throw exception;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @param context The context the text is used in.
+     * @param str     The text to localize.
+     * @return The translation for the context, falling back to the default context, or {@code
+     *         null} if the text has no translation.
+     */
+    String get(int context, String str) {
+        int hash = str.hashCode();
+        int mask = mSlots.length - 1;
+        int slot = spread(hash) & mask;
+        int entry;
+        while ((entry = mSlots[slot]) != 0) {
+            entry--;
+            int base = entry * ENTRY_INTS;
+            if (mEntries[base] == hash && matches(entry, str)) {
+                int first    = mEntries[base + 3];
+                int end      = first + mEntries[base + 4];
+                int fallback = -1;
+                for (int i = first; i < end; i++) {
+                    int valueContext = mValues[i * VALUE_INTS];
+                    if (valueContext == context) {
+                        return resolve(i);
+                    }
+                    if (valueContext == 0) {
+                        fallback = i;
+                    }
+                }
+                return fallback != -1 ? resolve(fallback) : null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    // Strings are immutable, so the unsynchronized caching of keys and values below is safe: a
+    // thread that doesn't yet see another thread's write just does the same work again.
+
+    private boolean matches(int entry, String str) {
+        String key = mKeys[entry];
+        if (key != null) {
+            // Call sites pass string literals, so the identity check nearly always decides it
+            return key == str || key.equals(str);
+        }
+        int base   = entry * ENTRY_INTS;
+        int offset = mEntries[base + 1];
+        int length = mEntries[base + 2];
+        if (length != str.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (mChars.get(offset + i) != str.charAt(i)) {
+                return false;
+            }
+        }
+        mKeys[entry] = str;
+        return true;
+    }
+
+    private String resolve(int value) {
+        String str = mResolved[value];
+        if (str == null) {
+            int    offset = mValues[value * VALUE_INTS + 1];
+            int    length = mValues[value * VALUE_INTS + 2];
+            char[] buffer = new char[length];
+            mChars.get(offset, buffer);
+            str = new String(buffer);
+            mResolved[value] = str;
+        }
+        return str;
+    }
+}
@@ -11,6 +11,9 @@
 
 package com.trollworks.gcs.utility;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 /** Defines constants for each platform we support. */
 public enum Platform {
     LINUX, MAC, WINDOWS, UNKNOWN;
@@ -49,4 +52,27 @@ public enum Platform {
     public static final boolean isLinux() {
         return CURRENT == LINUX;
     }
+
+    /** @return The directory that per-user settings files are stored in on this platform. */
+    public static final Path getSettingsDir() {
+        String homeDir = System.getProperty("user.home", ".");
+        Path   path;
+        if (isMacintosh()) {
+            path = Paths.get(homeDir, "Library", "Preferences");
+        } else if (isWindows()) {
+            String localAppData = System.getenv("LOCALAPPDATA");
+            path = localAppData != null ? Paths.get(localAppData) : Paths.get(homeDir, "AppData", "Local");
+        } else {
+            path = Paths.get(homeDir, ".config");
+        }
+        return path.normalize().toAbsolutePath();
+    }
+
+    /**
+     * @return The directory to store data that is derived from other files and can be recreated
+     *         at any time.
+     */
+    public static final Path getCacheDir() {
+        return getSettingsDir().resolve("gcs_cache");
+    }
 }
@@ -81,6 +81,7 @@ public class SafeFileUpdater {
                         }
                     }
 
+                    FileContents.invalidate(destFile.toPath());
                     if (tmpFile.exists() && !tmpFile.renameTo(destFile)) {
                         throw new IOException("Unable to swap files.");
                     }
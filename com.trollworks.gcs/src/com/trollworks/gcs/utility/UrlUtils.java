@@ -40,6 +40,18 @@ public final class UrlUtils {
      *         reading data.
      */
     public static URLConnection setupConnection(URL url) throws IOException {
+        return setupConnection(url, 0);
+    }
+
+    /**
+     * @param url    The URL to setup a connection for.
+     * @param offset The byte offset to request the content from. If greater than zero, a range
+     *               request is made and the caller must check for a partial content response, as
+     *               servers are free to ignore the range and return the full content instead.
+     * @return A {@link URLConnection} configured with a 10 second timeout for connecting and
+     *         reading data.
+     */
+    public static URLConnection setupConnection(URL url, long offset) throws IOException {
         Map<String, Integer> visited = new HashMap<>();
         HttpURLConnection    conn;
         while (true) {
@@ -50,6 +62,9 @@ public final class UrlUtils {
             conn.setConnectTimeout(10000);
             conn.setReadTimeout(10000);
             conn.setInstanceFollowRedirects(false);   // Make the logic below easier to detect redirections
+            if (offset > 0) {
+                conn.setRequestProperty("Range", "bytes=" + offset + "-");
+            }
             switch (conn.getResponseCode()) {
             case HttpURLConnection.HTTP_MOVED_PERM, HttpURLConnection.HTTP_MOVED_TEMP, 307 -> {
                 String location = URLDecoder.decode(conn.getHeaderField("Location"), StandardCharsets.UTF_8);
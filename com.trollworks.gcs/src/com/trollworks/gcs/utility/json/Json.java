@@ -20,18 +20,23 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /** Json utilities. */
 public class Json {
-    private Reader  mReader;
-    private int     mIndex;
-    private int     mCharacter = 1;
-    private int     mLine      = 1;
-    private char    mPrevious;
-    private boolean mEOF;
-    private boolean mUsePrevious;
+    private static final int                 MAX_SHARED_LENGTH = 64;
+    private              Reader              mReader;
+    private              CharSequence        mText;
+    private              int                 mPos;
+    private              int                 mIndex;
+    private              int                 mCharacter        = 1;
+    private              int                 mLine             = 1;
+    private              char                mPrevious;
+    private              boolean             mEOF;
+    private              boolean             mUsePrevious;
+    private              Map<String, String> mStrings          = new HashMap<>();
 
     /**
      * @param reader A {@link Reader} to load JSON data from.
@@ -41,6 +46,15 @@ public class Json {
         return new Json(reader).nextValue();
     }
 
+    /**
+     * @param text The JSON text to parse. Characters are read directly from it, without going
+     *             through a {@link Reader}.
+     * @return The result of loading the data.
+     */
+    public static final Object parse(CharSequence text) throws IOException {
+        return new Json(text).nextValue();
+    }
+
     /**
      * @param url A {@link URL} to load JSON data from.
      * @return The result of loading the data.
@@ -309,13 +323,21 @@ public class Json {
         mReader = reader;
     }
 
+    private Json(CharSequence text) {
+        mText = text;
+    }
+
     private char next() throws IOException {
         int c;
         if (mUsePrevious) {
             mUsePrevious = false;
             c = mPrevious;
         } else {
-            c = mReader.read();
+            if (mText != null) {
+                c = mPos < mText.length() ? mText.charAt(mPos++) : -1;
+            } else {
+                c = mReader.read();
+            }
             if (c <= 0) { // End of stream
                 mEOF = true;
                 c = 0;
@@ -522,7 +544,7 @@ public class Json {
             }
             default -> {
                 if (c == quote) {
-                    return buffer.toString();
+                    return share(buffer.toString());
                 }
                 buffer.append(c);
             }
@@ -530,6 +552,18 @@ public class Json {
         }
     }
 
+    /**
+     * Keys and short values, such as categories, units and difficulties, repeat throughout a data
+     * file, so only one copy of each is kept for all of the objects loaded from it.
+     */
+    private String share(String str) {
+        if (str.length() > MAX_SHARED_LENGTH) {
+            return str;
+        }
+        String existing = mStrings.putIfAbsent(str, str);
+        return existing != null ? existing : str;
+    }
+
     private void back() {
         if (mUsePrevious || mIndex <= 0) {
             throw new IllegalStateException("stepping back two steps is not supported");
@@ -66,9 +66,11 @@ public class LaunchProxy {
                                     send(new ConduitMessage("GCS", msg.mID, State.TOOK_OVER_FOR, null));
                                     WindowUtils.forceAppToFront();
                                     if (msg.mFiles != null && !msg.mFiles.isEmpty()) {
+                                        List<Path> toOpen = new ArrayList<>();
                                         for (String file : msg.mFiles) {
-                                            OpenDataFileCommand.open(Paths.get(file));
+                                            toOpen.add(Paths.get(file));
                                         }
+                                        OpenDataFileCommand.open(toOpen);
                                     } else {
                                         EventQueue.invokeLater(OpenCommand::open);
                                     }
@@ -13,25 +13,34 @@ package com.trollworks.gcs.utility.notification;
 
 import com.trollworks.gcs.utility.Log;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 
-/** Tracks targets of notifications and provides methods for notifying them. */
+/**
+ * Tracks targets of notifications and provides methods for notifying them. Registrations are
+ * published as an immutable snapshot, so notifications may be sent from any thread without
+ * locking. The targets for each notification name are resolved once per snapshot.
+ */
 public class Notifier implements Comparator<NotifierTarget> {
     /** The separator used between parts of a type. */
-    public static final String                           SEPARATOR      = ".";
-    private             Set<BatchNotifierTarget>         mBatchTargets  = new HashSet<>();
-    private             Map<String, Set<NotifierTarget>> mProductionMap = new HashMap<>();
-    private             Map<NotifierTarget, Set<String>> mNameMap       = new HashMap<>();
-    private             BatchNotifierTarget[]            mCurrentBatch;
-    private             int                              mBatchLevel;
-    private             boolean                          mEnabled       = true;
+    public static final  String                           SEPARATOR      = ".";
+    private static final NotifierTarget[]                 NO_TARGETS     = new NotifierTarget[0];
+    private              Set<BatchNotifierTarget>         mBatchTargets  = new HashSet<>();
+    private              Map<String, Set<NotifierTarget>> mProductionMap = new HashMap<>();
+    private              Map<NotifierTarget, Set<String>> mNameMap       = new HashMap<>();
+    private volatile     Dispatch                         mDispatch;
+    private              BatchNotifierTarget[]            mCurrentBatch;
+    private              int                              mBatchLevel;
+    private volatile     boolean                          mEnabled       = true;
 
     /**
      * Adds all registrations from the specified {@link Notifier} into this one.
@@ -72,6 +81,7 @@ public class Notifier implements Comparator<NotifierTarget> {
         if (normalizedNames.isEmpty()) {
             mNameMap.remove(target);
         }
+        mDispatch = null;
     }
 
     private static String normalizeName(String name) {
@@ -108,6 +118,7 @@ public class Notifier implements Comparator<NotifierTarget> {
                 }
             }
             mNameMap.remove(target);
+            mDispatch = null;
         }
     }
 
@@ -115,7 +126,7 @@ public class Notifier implements Comparator<NotifierTarget> {
      * @return Whether or not this {@link Notifier} is currently enabled (and can therefore be used
      *         to notify {@link NotifierTarget}s).
      */
-    public synchronized boolean isEnabled() {
+    public boolean isEnabled() {
         return mEnabled;
     }
 
@@ -146,36 +157,34 @@ public class Notifier implements Comparator<NotifierTarget> {
      */
     public void notify(Object producer, String name, Object data) {
         if (isEnabled()) {
-            StringTokenizer tokenizer = new StringTokenizer(name, SEPARATOR);
-            StringBuilder   builder   = new StringBuilder();
-            while (tokenizer.hasMoreTokens()) {
-                builder.append(tokenizer.nextToken());
-                String value = builder.toString();
-                builder.append(SEPARATOR);
-                NotifierTarget[] targets = getTargets(value);
-                if (targets != null) {
-                    Arrays.sort(targets, this);
-                    for (NotifierTarget target : targets) {
-                        try {
-                            target.handleNotification(producer, name, data);
-                        } catch (Throwable throwable) {
-                            Log.error(throwable);
-                        }
-                    }
+            for (NotifierTarget target : getDispatch().getTargets(name)) {
+                try {
+                    target.handleNotification(producer, name, data);
+                } catch (Throwable throwable) {
+                    Log.error(throwable);
                 }
             }
         }
     }
 
-    private synchronized NotifierTarget[] getTargets(String value) {
-        Set<NotifierTarget> set = mProductionMap.get(value);
-        if (set != null) {
-            int size = set.size();
-            if (size > 0) {
-                return set.toArray(new NotifierTarget[size]);
+    private Dispatch getDispatch() {
+        Dispatch dispatch = mDispatch;
+        if (dispatch == null) {
+            synchronized (this) {
+                dispatch = mDispatch;
+                if (dispatch == null) {
+                    Map<String, NotifierTarget[]> targets = new HashMap<>();
+                    for (Entry<String, Set<NotifierTarget>> entry : mProductionMap.entrySet()) {
+                        NotifierTarget[] array = entry.getValue().toArray(NO_TARGETS);
+                        Arrays.sort(array, this);
+                        targets.put(entry.getKey(), array);
+                    }
+                    dispatch = new Dispatch(targets);
+                    mDispatch = dispatch;
+                }
             }
         }
-        return null;
+        return dispatch;
     }
 
     /**
@@ -247,6 +256,7 @@ public class Notifier implements Comparator<NotifierTarget> {
         mBatchTargets.clear();
         mProductionMap.clear();
         mNameMap.clear();
+        mDispatch = null;
         for (Entry<NotifierTarget, Set<String>> entry : set.entrySet()) {
             Set<String> names = entry.getValue();
             add(entry.getKey(), names.toArray(new String[0]));
@@ -257,4 +267,44 @@ public class Notifier implements Comparator<NotifierTarget> {
     public int compare(NotifierTarget t1, NotifierTarget t2) {
         return Integer.compare(t1.getNotificationPriority(), t2.getNotificationPriority());
     }
+
+    /**
+     * An immutable snapshot of the registrations. The targets for a notification name are those
+     * registered for each of its prefixes, shortest first, and each group is in priority order.
+     */
+    private static class Dispatch {
+        private Map<String, NotifierTarget[]> mTargets;
+        private Map<String, NotifierTarget[]> mResolved = new ConcurrentHashMap<>();
+
+        Dispatch(Map<String, NotifierTarget[]> targets) {
+            mTargets = targets;
+        }
+
+        NotifierTarget[] getTargets(String name) {
+            NotifierTarget[] targets = mResolved.get(name);
+            if (targets == null) {
+                targets = resolve(name);
+                mResolved.put(name, targets);
+            }
+            return targets;
+        }
+
+        private NotifierTarget[] resolve(String name) {
+            if (mTargets.isEmpty()) {
+                return NO_TARGETS;
+            }
+            List<NotifierTarget> list      = new ArrayList<>();
+            StringTokenizer      tokenizer = new StringTokenizer(name, SEPARATOR);
+            StringBuilder        builder   = new StringBuilder();
+            while (tokenizer.hasMoreTokens()) {
+                builder.append(tokenizer.nextToken());
+                NotifierTarget[] targets = mTargets.get(builder.toString());
+                builder.append(SEPARATOR);
+                if (targets != null) {
+                    list.addAll(Arrays.asList(targets));
+                }
+            }
+            return list.isEmpty() ? NO_TARGETS : list.toArray(NO_TARGETS);
+        }
+    }
 }
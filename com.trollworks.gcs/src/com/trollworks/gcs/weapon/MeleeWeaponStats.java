@@ -40,6 +40,8 @@ public class MeleeWeaponStats extends WeaponStats {
     private              String mReach;
     private              String mParry;
     private              String mBlock;
+    private              String mCachedResolvedParry;
+    private              String mCachedResolvedBlock;
 
     /**
      * Creates a new {@link MeleeWeaponStats}.
@@ -112,7 +114,13 @@ public class MeleeWeaponStats extends WeaponStats {
 
     /** @return The parry, fully resolved for the user's skills, if possible. */
     public String getResolvedParry() {
-        return getResolvedValue(mParry, SkillDefaultType.Parry);
+        if (validateCache() == null) {
+            return mParry;
+        }
+        if (mCachedResolvedParry == null) {
+            mCachedResolvedParry = getResolvedValue(mParry, SkillDefaultType.Parry);
+        }
+        return mCachedResolvedParry;
     }
 
     private String getResolvedValue(String input, SkillDefaultType baseDefaultType) {
@@ -205,7 +213,20 @@ public class MeleeWeaponStats extends WeaponStats {
 
     /** @return The block, fully resolved for the user's skills, if possible. */
     public String getResolvedBlock() {
-        return getResolvedValue(mBlock, SkillDefaultType.Block);
+        if (validateCache() == null) {
+            return mBlock;
+        }
+        if (mCachedResolvedBlock == null) {
+            mCachedResolvedBlock = getResolvedValue(mBlock, SkillDefaultType.Block);
+        }
+        return mCachedResolvedBlock;
+    }
+
+    @Override
+    protected void clearCache() {
+        super.clearCache();
+        mCachedResolvedParry = null;
+        mCachedResolvedBlock = null;
     }
 
     /**
@@ -57,6 +57,7 @@ public class WeaponDamage {
     private              double         mFragmentationArmorDivisor;
     private              String         mFragmentationType;
     private              int            mModifierPerDie;
+    private              String         mCachedResolvedDamage;
 
     public WeaponDamage(WeaponStats owner) {
         mType = "";
@@ -157,6 +158,7 @@ public class WeaponDamage {
     }
 
     protected void notifySingle() {
+        mCachedResolvedDamage = null;
         if (mOwner != null) {
             mOwner.notifySingle(WeaponStats.ID_DAMAGE);
         }
@@ -241,7 +243,18 @@ public class WeaponDamage {
 
     /** @return The damage, fully resolved for the user's sw or thr, if possible. */
     public String getResolvedDamage() {
-        return getResolvedDamage(null);
+        if (mOwner.validateCache() == null) {
+            return getResolvedDamage(null);
+        }
+        if (mCachedResolvedDamage == null) {
+            mCachedResolvedDamage = getResolvedDamage(null);
+        }
+        return mCachedResolvedDamage;
+    }
+
+    /** Discards the cached resolved damage. */
+    void clearCache() {
+        mCachedResolvedDamage = null;
     }
 
     public String getDamageToolTip() {
@@ -58,6 +58,10 @@ public abstract class WeaponStats {
     private              String             mStrength;
     private              String             mUsage;
     private              List<SkillDefault> mDefaults;
+    private              GURPSCharacter     mCacheCharacter;
+    private              int                mCacheEpoch;
+    private              int                mCachedSkillLevel;
+    private              int                mCachedMinStrength = Integer.MIN_VALUE;
 
     public static void loadFromJSONArray(ListRow row, JsonArray a, List<WeaponStats> list) throws IOException {
         int count = a.size();
@@ -109,6 +113,7 @@ public abstract class WeaponStats {
         mOwner = owner;
         mDamage = other.mDamage.clone(this);
         mStrength = other.mStrength;
+        mCachedMinStrength = other.mCachedMinStrength;
         mUsage = other.mUsage;
         mDefaults = new ArrayList<>();
         for (SkillDefault skillDefault : other.mDefaults) {
@@ -145,6 +150,7 @@ public abstract class WeaponStats {
     protected void loadSelf(JsonMap m) throws IOException {
         mDamage = new WeaponDamage(m.getMap(WeaponDamage.TAG_ROOT), this);
         mStrength = m.getString(TAG_STRENGTH);
+        mCachedMinStrength = Integer.MIN_VALUE;
         mUsage = m.getString(TAG_USAGE);
         if (m.has(KEY_DEFAULTS)) {
             JsonArray a     = m.getArray(KEY_DEFAULTS);
@@ -195,11 +201,45 @@ public abstract class WeaponStats {
     public void setDefaults(List<SkillDefault> defaults) {
         if (!mDefaults.equals(defaults)) {
             mDefaults = new ArrayList<>(defaults);
+            invalidateCache();
         }
     }
 
+    /**
+     * Checks the values cached for this weapon against the recalculation epoch of the character it
+     * belongs to, discarding them if the character has changed since they were computed.
+     *
+     * @return The character this weapon belongs to, or {@code null} if it doesn't belong to one.
+     */
+    protected GURPSCharacter validateCache() {
+        DataFile df = mOwner != null ? mOwner.getDataFile() : null;
+        if (!(df instanceof GURPSCharacter)) {
+            return null;
+        }
+        GURPSCharacter character = (GURPSCharacter) df;
+        int            epoch     = character.getRecalculationEpoch();
+        if (mCacheCharacter != character || mCacheEpoch != epoch) {
+            mCacheCharacter = character;
+            mCacheEpoch = epoch;
+            clearCache();
+        }
+        return character;
+    }
+
+    /** Discards the values cached for this weapon. */
+    protected void clearCache() {
+        mCachedSkillLevel = Integer.MIN_VALUE;
+        mDamage.clearCache();
+    }
+
+    /** Forces the values cached for this weapon to be recalculated the next time they're needed. */
+    public void invalidateCache() {
+        mCacheCharacter = null;
+    }
+
     /** @param id The ID to use for notification. */
     protected void notifySingle(String id) {
+        invalidateCache();
         if (mOwner != null) {
             mOwner.notifySingle(id);
         }
@@ -277,11 +317,14 @@ public abstract class WeaponStats {
 
     /** @return The skill level. */
     public int getSkillLevel() {
-        DataFile df = mOwner.getDataFile();
-        if (df instanceof GURPSCharacter) {
-            return getSkillLevel((GURPSCharacter) df, null);
+        GURPSCharacter character = validateCache();
+        if (character == null) {
+            return 0;
         }
-        return 0;
+        if (mCachedSkillLevel == Integer.MIN_VALUE) {
+            mCachedSkillLevel = getSkillLevel(character, null);
+        }
+        return mCachedSkillLevel;
     }
 
     private int getSkillLevel(GURPSCharacter character, StringBuilder toolTip) {
@@ -370,6 +413,13 @@ public abstract class WeaponStats {
 
     /** @return The minimum ST to use this weapon, or -1 if there is none. */
     public int getMinStrengthValue() {
+        if (mCachedMinStrength == Integer.MIN_VALUE) {
+            mCachedMinStrength = extractMinStrengthValue();
+        }
+        return mCachedMinStrength;
+    }
+
+    private int extractMinStrengthValue() {
         StringBuilder builder = new StringBuilder();
         int           count   = mStrength.length();
         boolean       started = false;
@@ -413,6 +463,7 @@ public abstract class WeaponStats {
         strength = sanitize(strength);
         if (!mStrength.equals(strength)) {
             mStrength = strength;
+            mCachedMinStrength = Integer.MIN_VALUE;
             notifySingle(ID_STRENGTH);
         }
     }
@@ -433,6 +484,7 @@ public abstract class WeaponStats {
      */
     public void setOwner(ListRow owner) {
         mOwner = owner;
+        invalidateCache();
     }
 
     @Override
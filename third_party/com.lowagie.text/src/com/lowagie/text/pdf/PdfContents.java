@@ -92,7 +92,7 @@ class PdfContents extends PdfStream {
             {
                 compressed = true;
                 compressionLevel = text.getPdfWriter().getCompressionLevel();
-                deflater = new Deflater(compressionLevel);
+                deflater = getDeflater(compressionLevel);
                 out = new DeflaterOutputStream(streamBytes, deflater);
             }
             else
@@ -141,7 +141,7 @@ class PdfContents extends PdfStream {
             }
             out.close();
             if (deflater != null) {
-                deflater.end();
+                releaseDeflater(compressionLevel, deflater);
             }
         }
         catch (Exception e) {
@@ -75,6 +75,19 @@ public class PdfFormXObject extends PdfStream {
  */
     
     PdfFormXObject(PdfTemplate template, int compressionLevel) // throws BadPdfFormatException
+    {
+        this(template, compressionLevel, true);
+    }
+
+/**
+ * Constructs a <CODE>PdfFormXObject</CODE>-object.
+ *
+ * @param	template			the template
+ * @param	compressionLevel	the compression level for the stream
+ * @param	compress			<CODE>false</CODE> to leave the call to {@link #flateCompress(int)} to the caller
+ */
+
+    PdfFormXObject(PdfTemplate template, int compressionLevel, boolean compress)
     {
         super();
         put(PdfName.TYPE, PdfName.XOBJECT);
@@ -93,7 +106,8 @@ public class PdfFormXObject extends PdfStream {
             put(PdfName.MATRIX, matrix);
         bytes = template.toPdf(null);
         put(PdfName.LENGTH, new PdfNumber(bytes.length));
-        flateCompress(compressionLevel);
+        if (compress)
+            flateCompress(compressionLevel);
     }
     
 }
@@ -57,6 +57,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 
@@ -130,6 +134,9 @@ public class PdfStream extends PdfDictionary {
 	static final byte				ENDSTREAM[]			= DocWriter.getISOBytes("\nendstream");
 	static final int				SIZESTREAM			= STARTSTREAM.length + ENDSTREAM.length;
 
+	/** Idle deflaters kept for reuse, per compression level. */
+	private static final Map<Integer, Queue<Deflater>>	IDLE_DEFLATERS	= new ConcurrentHashMap<>();
+
 	// constructors
 
 	/**
@@ -209,6 +216,44 @@ public class PdfStream extends PdfDictionary {
 		return rawLength;
 	}
 
+	/**
+	 * Gets a <CODE>Deflater</CODE>, ready for a new stream. Deflaters are reused rather than
+	 * recreated for every stream. The caller must not end the returned <CODE>Deflater</CODE>, but
+	 * must hand it back with {@link #releaseDeflater(int, Deflater)} once the stream is done.
+	 * 
+	 * @param compressionLevel the compression level
+	 * @return the <CODE>Deflater</CODE>
+	 */
+	static Deflater getDeflater(int compressionLevel) {
+		Deflater deflater = IDLE_DEFLATERS.computeIfAbsent(Integer.valueOf(compressionLevel), level -> new ConcurrentLinkedQueue<>()).poll();
+		return deflater != null ? deflater : new Deflater(compressionLevel);
+	}
+
+	/**
+	 * Resets a <CODE>Deflater</CODE> obtained from {@link #getDeflater(int)} and keeps it for
+	 * reuse.
+	 * 
+	 * @param compressionLevel the compression level the <CODE>Deflater</CODE> was obtained for
+	 * @param deflater the <CODE>Deflater</CODE>
+	 */
+	static void releaseDeflater(int compressionLevel, Deflater deflater) {
+		deflater.reset();
+		IDLE_DEFLATERS.get(Integer.valueOf(compressionLevel)).add(deflater);
+	}
+
+	/**
+	 * Ends all idle deflaters, releasing their native memory. Called when a writer is closed, so
+	 * that the deflaters don't outlive the documents that used them.
+	 */
+	static void endIdleDeflaters() {
+		for (Queue<Deflater> deflaters : IDLE_DEFLATERS.values()) {
+			Deflater deflater;
+			while ((deflater = deflaters.poll()) != null) {
+				deflater.end();
+			}
+		}
+	}
+
 	/**
 	 * Compresses the stream.
 	 */
@@ -254,15 +299,18 @@ public class PdfStream extends PdfDictionary {
 		try {
 			// compress
 			ByteArrayOutputStream stream = new ByteArrayOutputStream();
-			Deflater deflater = new Deflater(compressionLevel);
-			DeflaterOutputStream zip = new DeflaterOutputStream(stream, deflater);
-			if (streamBytes != null) {
-				streamBytes.writeTo(zip);
-			} else {
-				zip.write(bytes);
+			Deflater deflater = getDeflater(compressionLevel);
+			try {
+				DeflaterOutputStream zip = new DeflaterOutputStream(stream, deflater);
+				if (streamBytes != null) {
+					streamBytes.writeTo(zip);
+				} else {
+					zip.write(bytes);
+				}
+				zip.close();
+			} finally {
+				releaseDeflater(compressionLevel, deflater);
 			}
-			zip.close();
-			deflater.end();
 			// update the object
 			streamBytes = stream;
 			bytes = null;
@@ -307,28 +355,33 @@ public class PdfStream extends PdfDictionary {
 		os.write(STARTSTREAM);
 		if (inputStream != null) {
 			rawLength = 0;
+			Deflater deflater = null;
 			DeflaterOutputStream def = null;
 			OutputStreamCounter osc = new OutputStreamCounter(os);
 			OutputStreamEncryption ose = null;
 			OutputStream fout = osc;
-			Deflater deflater = null;
 			if (compressed) {
-				deflater = new Deflater(compressionLevel);
+				deflater = getDeflater(compressionLevel);
 				fout = def = new DeflaterOutputStream(fout, deflater, 0x8000);
 			}
 
-			byte buf[] = new byte[4192];
-			while (true) {
-				int n = inputStream.read(buf);
-				if (n <= 0) {
-					break;
+			try {
+				byte buf[] = new byte[4192];
+				while (true) {
+					int n = inputStream.read(buf);
+					if (n <= 0) {
+						break;
+					}
+					fout.write(buf, 0, n);
+					rawLength += n;
+				}
+				if (def != null) {
+					def.finish();
+				}
+			} finally {
+				if (deflater != null) {
+					releaseDeflater(compressionLevel, deflater);
 				}
-				fout.write(buf, 0, n);
-				rawLength += n;
-			}
-			if (def != null) {
-				def.finish();
-				deflater.end();
 			}
 			if (ose != null) {
 				ose.finish();
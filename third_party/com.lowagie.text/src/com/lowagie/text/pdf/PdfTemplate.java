@@ -246,6 +246,16 @@ public class PdfTemplate extends PdfContentByte {
     PdfStream getFormXObject(int compressionLevel) throws IOException {
         return new PdfFormXObject(this, compressionLevel);
     }
+
+    /**
+     * Gets the stream representing this template without compressing it, so that the compression
+     * can be done elsewhere.
+     *
+     * @return the stream representing this template
+     */
+    PdfStream getUncompressedFormXObject() {
+        return new PdfFormXObject(this, PdfStream.DEFAULT_COMPRESSION, false);
+    }
         
     /**
      * Gets a duplicate of this <CODE>PdfTemplate</CODE>. All
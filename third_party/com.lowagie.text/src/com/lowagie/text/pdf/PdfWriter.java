@@ -76,6 +76,7 @@ import java.awt.Color;
 import java.awt.color.ICC_Profile;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -86,6 +87,9 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * A <CODE>DocWriter</CODE> class for PDF.
@@ -1240,6 +1244,8 @@ public class PdfWriter extends DocWriter implements PdfViewerPreferences, PdfVer
 				super.close();
 			} catch (IOException ioe) {
 				throw new ExceptionConverter(ioe);
+			} finally {
+				PdfStream.endIdleDeflaters();
 			}
 		}
 	}
@@ -1251,6 +1257,7 @@ public class PdfWriter extends DocWriter implements PdfViewerPreferences, PdfVer
 			details.writeFont(this);
 		}
 		// [F4] add the form XObjects
+		writePendingFormXObjects(true);
 		for (Iterator it = formXObjects.values().iterator(); it.hasNext();) {
 			Object objs[] = (Object[]) it.next();
 			PdfTemplate template = (PdfTemplate) objs[1];
@@ -1258,9 +1265,16 @@ public class PdfWriter extends DocWriter implements PdfViewerPreferences, PdfVer
 				continue;
 			}
 			if (template != null && template.getType() == PdfTemplate.TYPE_TEMPLATE) {
-				addToBody(template.getFormXObject(compressionLevel), template.getIndirectReference());
+				if (canCompressInParallel(template)) {
+					// Compression happens on the executor; the objects are still written in order
+					pendingFormXObjects.add(new Object[] { compressFormXObject(template), template.getIndirectReference() });
+				} else {
+					writePendingFormXObjects(true);
+					addToBody(template.getFormXObject(compressionLevel), template.getIndirectReference());
+				}
 			}
 		}
+		writePendingFormXObjects(true);
 		// [F5] add all the dependencies in the imported pages
 		for (Iterator it = importedPages.values().iterator(); it.hasNext();) {
 			currentPdfReaderInstance = (PdfReaderInstance) it.next();
@@ -2141,7 +2155,7 @@ public class PdfWriter extends DocWriter implements PdfViewerPreferences, PdfVer
 	 * The form XObjects in this document. The key is the xref and the value is Object[]{PdfName,
 	 * template}.
 	 */
-	protected HashMap	formXObjects		= new HashMap();
+	protected HashMap	formXObjects		= new LinkedHashMap<>();
 
 	/** The name counter for the form XObjects name. */
 	protected int		formXObjectsCounter	= 1;
@@ -2204,11 +2218,82 @@ public class PdfWriter extends DocWriter implements PdfViewerPreferences, PdfVer
 			return;
 		}
 		if (template.getType() == PdfTemplate.TYPE_TEMPLATE) {
+			if (!deterministicCompression && canCompressInParallel(template)) {
+				pendingFormXObjects.add(new Object[] { compressFormXObject(template), template.getIndirectReference() });
+				objs[1] = null;
+				writePendingFormXObjects(false);
+				return;
+			}
+			writePendingFormXObjects(true);
 			addToBody(template.getFormXObject(compressionLevel), template.getIndirectReference());
 			objs[1] = null;
 		}
 	}
 
+	// [F18] compressing form XObjects in parallel
+
+	/** The executor form XObjects are compressed on, or <CODE>null</CODE> to compress them inline. */
+	protected ExecutorService compressionExecutor;
+
+	/** Whether the output must be laid out exactly as it would be without a compression executor. */
+	protected boolean deterministicCompression = true;
+
+	/** Form XObjects being compressed, in the order they must be written, with their references. */
+	protected ArrayList<Object[]> pendingFormXObjects = new ArrayList<>();
+
+	/**
+	 * Use this method to compress form XObjects, such as the templates used for pages, on an
+	 * executor rather than on the thread writing the document.
+	 * <p>
+	 * In deterministic mode, the form XObjects are all compressed together when the document is
+	 * closed and the output is the same as it would be without an executor. Otherwise, released
+	 * templates are compressed while later content is produced and written once they are done,
+	 * so their position in the file depends on timing.
+	 *
+	 * @param executor the executor to use, or <CODE>null</CODE> to compress inline
+	 * @param deterministic whether the output must not depend on timing
+	 */
+	public void setCompressionExecutor(ExecutorService executor, boolean deterministic) {
+		compressionExecutor = executor;
+		deterministicCompression = deterministic;
+	}
+
+	private boolean canCompressInParallel(PdfTemplate template) {
+		// Subclasses build their streams differently, so only plain templates are handled
+		return compressionExecutor != null && template.getClass() == PdfTemplate.class;
+	}
+
+	private Future<PdfStream> compressFormXObject(PdfTemplate template) {
+		final PdfStream stream = template.getUncompressedFormXObject();
+		final int level = compressionLevel;
+		return compressionExecutor.submit(() -> {
+			stream.flateCompress(level);
+			return stream;
+		});
+	}
+
+	private void writePendingFormXObjects(boolean wait) throws IOException {
+		while (!pendingFormXObjects.isEmpty()) {
+			Object[] pending = pendingFormXObjects.get(0);
+			@SuppressWarnings("unchecked")
+			Future<PdfStream> future = (Future<PdfStream>) pending[0];
+			if (!wait && !future.isDone()) {
+				return;
+			}
+			pendingFormXObjects.remove(0);
+			PdfStream stream;
+			try {
+				stream = future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(e.getMessage());
+			} catch (ExecutionException e) {
+				throw new ExceptionConverter(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+			}
+			addToBody(stream, (PdfIndirectReference) pending[1]);
+		}
+	}
+
 	// [F5] adding pages imported form other PDF documents
 
 	protected HashMap importedPages = new HashMap();
@@ -2349,12 +2434,53 @@ public class PdfWriter extends DocWriter implements PdfViewerPreferences, PdfVer
 
 	protected HashMap documentExtGState = new HashMap();
 
+	/**
+	 * Maps the serialized content of each extended graphics state to its name and reference, when
+	 * merging of duplicates is enabled.
+	 */
+	protected HashMap<String, PdfObject[]> documentExtGStateByContent;
+
+	/**
+	 * Use this method to make extended graphics states with identical content share a single
+	 * object. Graphics code creates a new state object for each template, even when the same
+	 * transparency is used throughout, so a document with many templates would otherwise hold many
+	 * copies of the same few states. Must be called before any content is added.
+	 *
+	 * @param merge <CODE>true</CODE> to merge duplicate extended graphics states
+	 */
+	public void setMergeDuplicateExtGStates(boolean merge) {
+		documentExtGStateByContent = merge ? new HashMap<>() : null;
+	}
+
 	PdfObject[] addSimpleExtGState(PdfDictionary gstate) {
-		if (!documentExtGState.containsKey(gstate)) {
+		PdfObject[] obj = (PdfObject[]) documentExtGState.get(gstate);
+		if (obj == null) {
+			String content = documentExtGStateByContent != null ? getContentKey(gstate) : null;
+			if (content != null) {
+				obj = documentExtGStateByContent.get(content);
+				if (obj != null) {
+					return obj;
+				}
+			}
 			PdfXConformanceImp.checkPDFXConformance(this, PdfXConformanceImp.PDFXKEY_GSTATE, gstate);
-			documentExtGState.put(gstate, new PdfObject[] { new PdfName("GS" + (documentExtGState.size() + 1)), getPdfIndirectReference() });
+			obj = new PdfObject[] { new PdfName("GS" + (documentExtGState.size() + 1)), getPdfIndirectReference() };
+			documentExtGState.put(gstate, obj);
+			if (content != null) {
+				documentExtGStateByContent.put(content, obj);
+			}
+		}
+		return obj;
+	}
+
+	private static String getContentKey(PdfDictionary dictionary) {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			dictionary.toPdf(null, out);
+			return new String(out.toByteArray(), "ISO-8859-1");
+		} catch (Exception e) {
+			// Dictionaries that can't be serialized on their own are simply not merged
+			return null;
 		}
-		return (PdfObject[]) documentExtGState.get(gstate);
 	}
 
 	// [F11] adding properties (OCG, marked content)